@@ -0,0 +1,56 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.LibraryManagementSystemApplication;
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.Stream;
+
+// Builds components outside a Spring context, setting the fields Spring would inject
+final class BenchmarkSupport {
+
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private BenchmarkSupport() {
+    }
+
+    static JwtUtil jwtUtil(long claimsCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", claimsCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    // Boots the application against an embedded PostgreSQL, quietly and without background jobs.
+    // Command-line arguments, so they win over application.properties.
+    static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres, String... extraArgs) {
+        String[] quiet = {
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"};
+        return startApplicationWithConfiguredLogging(postgres,
+                Stream.concat(Stream.of(quiet), Stream.of(extraArgs)).toArray(String[]::new));
+    }
+
+    // The same, but logging stays as the active profiles configure it
+    static ConfigurableApplicationContext startApplicationWithConfiguredLogging(EmbeddedPostgres postgres,
+                                                                               String... extraArgs) {
+        String[] args = {
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--JWT_SECRET_KEY=" + JWT_SECRET,
+                "--GOOGLE_CLIENT_ID=benchmark", "--GOOGLE_CLIENT_SECRET=benchmark",
+                "--GITHUB_CLIENT_ID=benchmark", "--GITHUB_CLIENT_SECRET=benchmark",
+                "--app.scheduling.enabled=false"};
+        return new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .run(Stream.concat(Stream.of(args), Stream.of(extraArgs)).toArray(String[]::new));
+    }
+}
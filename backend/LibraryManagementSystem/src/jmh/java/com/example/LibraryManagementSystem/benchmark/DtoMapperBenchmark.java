@@ -0,0 +1,44 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.dto.TransactionDto;
+import com.example.LibraryManagementSystem.entity.LibraryBook;
+import com.example.LibraryManagementSystem.entity.LibraryTransaction;
+import com.example.LibraryManagementSystem.entity.LibraryUser;
+import com.example.LibraryManagementSystem.service.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// The entity-to-DTO mappers the services use for every book and loan they return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    private LibraryBook book;
+    private LibraryTransaction transaction;
+
+    @Setup
+    public void setUp() {
+        book = LibraryBook.builder().id(7L).title("The Left Hand of Darkness").author("Ursula K. Le Guin")
+                .totalCopies(3).availableCopies(2).build();
+        LibraryUser user = LibraryUser.builder().id(42L).name("Reader").email("reader@example.com").role("STUDENT").build();
+        transaction = LibraryTransaction.builder().id(1000L).user(user).book(book)
+                .borrowDate(LocalDate.now().minusDays(3)).dueDate(LocalDate.now().plusDays(11)).build();
+    }
+
+    @Benchmark
+    public BookDto toBookDto() {
+        return DtoMapper.toBookDto(book);
+    }
+
+    @Benchmark
+    public TransactionDto toTransactionDto() {
+        return DtoMapper.toTransactionDto(transaction);
+    }
+}
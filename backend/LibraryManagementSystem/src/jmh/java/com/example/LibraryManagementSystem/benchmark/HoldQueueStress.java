@@ -0,0 +1,288 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+import com.example.LibraryManagementSystem.service.HoldService;
+import com.example.LibraryManagementSystem.service.StatisticsService;
+import com.example.LibraryManagementSystem.service.TransactionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stress test for the hold queue: thousands of holds on one popular title, placed while its copies
+// are being returned, handed off, collected, cancelled and expired concurrently. Exits with status 1
+// if an invariant breaks:
+//  - every copy is on the shelf, on loan or set aside for exactly one ready hold
+//  - holds are served in queue order (no served hold ever overtakes a waiting one)
+//  - no hold is served twice and nobody has two active holds on the title
+//  - the statistics counters agree with a full recount
+//
+//   mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.LibraryManagementSystem.benchmark.HoldQueueStress -Dexec.args="3000 5"
+//
+// Arguments: number of holders (default 3000) and copies of the title (default 5).
+public final class HoldQueueStress {
+
+    private static final String COPY_BALANCE = """
+            SELECT b.total_copies - b.available_copies
+                   - (SELECT count(*) FROM library_transaction t WHERE t.book_id = b.id AND t.return_date IS NULL)
+                   - (SELECT count(*) FROM library_hold h WHERE h.book_id = b.id AND h.status = 'READY')
+              FROM library_book b WHERE b.id = ?
+            """;
+    private static final String QUEUE_JUMPS = """
+            SELECT count(*) FROM library_hold served
+             WHERE served.book_id = ? AND served.status IN ('READY', 'FULFILLED')
+               AND EXISTS (SELECT 1 FROM library_hold waiting
+                            WHERE waiting.book_id = served.book_id AND waiting.status = 'WAITING'
+                              AND waiting.id < served.id)
+            """;
+
+    private final int holders;
+    private final int copies;
+    private final List<String> failures = new ArrayList<>();
+
+    private JdbcTemplate jdbc;
+    // Holds are placed and cancelled as their owner
+    private final Map<Long, String> emails = new HashMap<>();
+    private TransactionService transactionService;
+    private HoldService holdService;
+    private long bookId;
+
+    private final BlockingQueue<Long> onLoan = new LinkedBlockingQueue<>();
+    private final Set<Long> collecting = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean placing = new AtomicBoolean(true);
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong shelfBorrows = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong collected = new AtomicLong();
+    private final ConcurrentLinkedQueue<Long> placeNanos = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> returnNanos = new ConcurrentLinkedQueue<>();
+
+    private HoldQueueStress(int holders, int copies) {
+        this.holders = holders;
+        this.copies = copies;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int holders = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        boolean passed;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = BenchmarkSupport.startApplication(postgres,
+                     "--spring.profiles.active=seed",
+                     "--app.seed.students=" + (holders + copies), "--app.seed.teachers=0",
+                     "--app.seed.books=100", "--app.seed.loans=0")) {
+            passed = new HoldQueueStress(holders, copies).run(context);
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(ConfigurableApplicationContext context) throws Exception {
+        jdbc = context.getBean(JdbcTemplate.class);
+        transactionService = context.getBean(TransactionService.class);
+        holdService = context.getBean(HoldService.class);
+        List<Long> users = jdbc.queryForList("SELECT id FROM library_user ORDER BY id", Long.class);
+        jdbc.query("SELECT id, email FROM library_user", row -> {
+            emails.put(row.getLong("id"), row.getString("email"));
+        });
+        bookId = jdbc.queryForObject("INSERT INTO library_book (title, author, available, version, total_copies, available_copies) " +
+                "VALUES ('The Popular Title', 'Bestselling Author', true, 0, ?, ?) RETURNING id", Long.class, copies, copies);
+        context.getBean(StatisticsService.class).reconcile();
+
+        // The first borrowers take every copy, so everyone after them has to queue
+        for (Long userId : users.subList(0, copies)) {
+            transactionService.borrowBook(userId, bookId);
+            onLoan.add(userId);
+        }
+        List<Long> queue = users.subList(copies, users.size());
+
+        long startedAt = System.nanoTime();
+        ExecutorService placers = Executors.newFixedThreadPool(32);
+        ExecutorService circulation = Executors.newFixedThreadPool(8);
+        List<Future<?>> placements = new ArrayList<>();
+        for (Long userId : queue) {
+            placements.add(placers.submit(() -> place(userId)));
+        }
+        AtomicBoolean done = new AtomicBoolean(false);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(circulation.submit(() -> returner(done)));
+            workers.add(circulation.submit(() -> collector(done)));
+        }
+
+        for (Future<?> placement : placements) {
+            placement.get();
+        }
+        placing.set(false);
+        placers.shutdown();
+
+        // Drain: the title keeps circulating until nobody is waiting or holding a set-aside copy
+        while (activeHolds() > 0) {
+            checkInvariants("running");
+            TimeUnit.MILLISECONDS.sleep(500);
+        }
+        done.set(true);
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        circulation.shutdown();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        checkInvariants("final");
+        List<Map<String, Object>> servedTwice = jdbc.queryForList(
+                "SELECT user_id, count(*) FROM library_transaction WHERE book_id = ? GROUP BY user_id HAVING count(*) > 1", bookId);
+        if (!servedTwice.isEmpty()) {
+            failures.add("users served more than once: " + servedTwice);
+        }
+        Long fulfilled = jdbc.queryForObject(
+                "SELECT count(*) FROM library_hold WHERE book_id = ? AND status = 'FULFILLED'", Long.class, bookId);
+        if (fulfilled != collected.get()) {
+            failures.add("fulfilled holds " + fulfilled + " but " + collected.get() + " collections");
+        }
+        StatisticsService statisticsService = context.getBean(StatisticsService.class);
+        StatisticsDto counters = statisticsService.snapshot();
+        statisticsService.reconcile();
+        StatisticsDto recount = statisticsService.snapshot();
+        if (!counters.equals(recount)) {
+            failures.add("statistics drifted: " + counters + " vs recount " + recount);
+        }
+
+        System.out.printf("%nHold stress: %d holders on %d copies in %.1f s%n", queue.size(), copies, seconds);
+        System.out.printf("  placed %d (%d found a shelf copy instead), cancelled %d, expired %d, collected %d%n",
+                placed.get(), shelfBorrows.get(), cancelled.get(), expired.get(), collected.get());
+        System.out.printf("  hand-offs/sec %.1f%n", collected.get() / seconds);
+        printLatency("  placeHold ", placeNanos);
+        printLatency("  returnBook", returnNanos);
+        failures.forEach(failure -> System.out.println("FAIL " + failure));
+        System.out.println(failures.isEmpty() ? "PASS" : "FAILED");
+        return failures.isEmpty();
+    }
+
+    private void place(Long userId) {
+        long started = System.nanoTime();
+        try {
+            HoldDto hold = holdService.placeHold(userId, bookId, emails.get(userId));
+            placeNanos.add(System.nanoTime() - started);
+            placed.incrementAndGet();
+            // Some readers give up while still waiting
+            if (userId % 10 == 3) {
+                holdService.cancelHold(hold.getId(), emails.get(userId));
+                cancelled.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            if (!"Book is available, borrow it instead".equals(e.getMessage())) {
+                throw e;
+            }
+            // A copy was shelved while the queue was empty: borrowing it is the right move
+            try {
+                transactionService.borrowBook(userId, bookId);
+                shelfBorrows.incrementAndGet();
+                onLoan.add(userId);
+            } catch (RuntimeException raced) {
+                place(userId);
+            }
+        }
+    }
+
+    // Brings copies back; each return hands the copy to the head of the queue
+    private void returner(AtomicBoolean done) {
+        while (!done.get()) {
+            Long userId;
+            try {
+                userId = onLoan.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (userId != null) {
+                long started = System.nanoTime();
+                transactionService.returnBook(userId, bookId);
+                returnNanos.add(System.nanoTime() - started);
+            }
+        }
+    }
+
+    // Ready holders come to collect their copy; a few never turn up and their hold expires instead
+    private void collector(AtomicBoolean done) {
+        while (!done.get()) {
+            List<Map<String, Object>> ready = jdbc.queryForList(
+                    "SELECT id, user_id FROM library_hold WHERE book_id = ? AND status = 'READY' ORDER BY id", bookId);
+            for (Map<String, Object> hold : ready) {
+                long holdId = ((Number) hold.get("id")).longValue();
+                long userId = ((Number) hold.get("user_id")).longValue();
+                if (!collecting.add(holdId)) {
+                    continue;
+                }
+                if (userId % 20 == 7) {
+                    jdbc.update("UPDATE library_hold SET expires_at = now() - interval '1 minute' WHERE id = ?", holdId);
+                    expired.addAndGet(holdService.expireHolds().getExpiredReady());
+                } else {
+                    transactionService.borrowBook(userId, bookId);
+                    collected.incrementAndGet();
+                    onLoan.add(userId);
+                }
+            }
+            if (ready.isEmpty()) {
+                sleep();
+            }
+        }
+    }
+
+    private long activeHolds() {
+        Long active = jdbc.queryForObject(
+                "SELECT count(*) FROM library_hold WHERE book_id = ? AND status IN ('WAITING', 'READY')", Long.class, bookId);
+        return placing.get() || active == null ? Long.MAX_VALUE : active;
+    }
+
+    private void checkInvariants(String phase) {
+        Long imbalance = jdbc.queryForObject(COPY_BALANCE, Long.class, bookId);
+        // Mid-run the statements see different commits, so only a lasting imbalance counts
+        if (imbalance != null && imbalance != 0 && "final".equals(phase)) {
+            failures.add("copies unaccounted for: " + imbalance);
+        }
+        Long jumps = jdbc.queryForObject(QUEUE_JUMPS, Long.class, bookId);
+        if (jumps != null && jumps > 0) {
+            failures.add(phase + ": " + jumps + " holds served ahead of an earlier waiting hold");
+        }
+        Long duplicates = jdbc.queryForObject("SELECT count(*) FROM (SELECT user_id FROM library_hold WHERE book_id = ? " +
+                "AND status IN ('WAITING', 'READY') GROUP BY user_id HAVING count(*) > 1) d", Long.class, bookId);
+        if (duplicates != null && duplicates > 0) {
+            failures.add(phase + ": " + duplicates + " users with two active holds");
+        }
+    }
+
+    private static void printLatency(String label, ConcurrentLinkedQueue<Long> samples) {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            return;
+        }
+        System.out.printf("%s p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d calls)%n", label,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1e6,
+                sorted[sorted.length - 1] / 1e6, sorted.length);
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue (login) and token parse, with and without the verified-claims cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = BenchmarkSupport.jwtUtil(10_000);
+        uncachedJwtUtil = BenchmarkSupport.jwtUtil(0);
+        token = cachedJwtUtil.generateToken(42L, "reader@example.com", "Reader", "STUDENT");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(42L, "reader@example.com", "Reader", "STUDENT");
+    }
+
+    @Benchmark
+    public Claims parseCached() {
+        return cachedJwtUtil.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public Claims parseUncached() {
+        return uncachedJwtUtil.getAllClaimsFromToken(token);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.security.JwtAuthenticationFilter;
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Full per-request authentication: header parse, claims lookup, SecurityContext population.
+// claimsCacheSize=0 is the baseline without the claims cache: every request verifies the signature.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"10000", "0"})
+    public long claimsCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkSupport.jwtUtil(claimsCacheSize);
+        filter = new JwtAuthenticationFilter(jwtUtil);
+        authorization = "Bearer " + jwtUtil.generateToken(42L, "reader@example.com", "Reader", "STUDENT");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.LoanArchiveResultDto;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import com.example.LibraryManagementSystem.service.LoanArchiveService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+// Active-loan queries against a seeded loan history, measured with every loan in library_transaction
+// and again after LoanArchiveService has moved loans returned over six months ago to the archive.
+// A before/after comparison on one database, so it runs as a plain program rather than under JMH:
+//
+//   mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.LibraryManagementSystem.benchmark.LoanHistoryBenchmark -Dexec.args="20000000"
+//
+// Arguments: loans to seed (default 20M, about half an hour of seeding) and calls per query (default 2000).
+public final class LoanHistoryBenchmark {
+
+    private static final String SIZES = """
+            SELECT (SELECT count(*) FROM library_transaction) AS row_count,
+                   pg_size_pretty(pg_table_size('library_transaction')) AS table_size,
+                   pg_size_pretty(pg_indexes_size('library_transaction')) AS index_size
+            """;
+
+    private final int calls;
+    private final Map<String, double[]> results = new LinkedHashMap<>();
+
+    private JdbcTemplate jdbc;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readOnly;
+    private long[] userIds;
+    private long[] bookIds;
+
+    private LoanHistoryBenchmark(int calls) {
+        this.calls = calls;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long loans = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        long seedingStartedAt = System.nanoTime();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = BenchmarkSupport.startApplication(postgres,
+                     "--spring.profiles.active=seed", "--app.seed.loans=" + loans)) {
+            System.out.printf("Seeded %d loans in %.0f s%n", loans, (System.nanoTime() - seedingStartedAt) / 1e9);
+            new LoanHistoryBenchmark(calls).run(context);
+        }
+    }
+
+    private void run(ConfigurableApplicationContext context) {
+        jdbc = context.getBean(JdbcTemplate.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        // Borrowers and titles with something out, so every lookup has rows to find
+        userIds = jdbc.queryForList("SELECT DISTINCT user_id FROM library_transaction WHERE return_date IS NULL", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        bookIds = jdbc.queryForList("SELECT DISTINCT book_id FROM library_transaction WHERE return_date IS NULL", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        printSizes("before");
+        // First pass only warms the JIT, connection pool and buffer cache
+        measure("warmup");
+        measure("before");
+
+        LoanArchiveResultDto archived = context.getBean(LoanArchiveService.class)
+                .archiveReturnedBefore(LocalDate.now().minusMonths(6));
+        System.out.printf("Archived %d loans in %d batches, %.1f s (%.0f rows/sec)%n", archived.getRowsArchived(),
+                archived.getBatches(), archived.getDurationMs() / 1e3, archived.getRowsPerSecond());
+        // What autovacuum does after a large delete: visibility map and planner statistics
+        jdbc.execute("VACUUM ANALYZE library_transaction");
+        jdbc.execute("ANALYZE library_transaction_archive");
+
+        printSizes("after");
+        measure("after");
+
+        System.out.printf("%n%-34s %12s %12s %12s %12s%n", "query (ms per call)", "before avg", "after avg", "before p99", "after p99");
+        for (String query : List.copyOf(results.keySet())) {
+            if (!query.startsWith("before ")) {
+                continue;
+            }
+            String name = query.substring("before ".length());
+            double[] before = results.get(query);
+            double[] after = results.get("after " + name);
+            System.out.printf("%-34s %12.3f %12.3f %12.3f %12.3f%n", name, before[0], after[0], before[1], after[1]);
+        }
+    }
+
+    private void measure(String phase) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        time(phase, "borrower standing (borrow check)", calls, () ->
+                transactionRepository.findBorrowerStanding(randomId(random, userIds), today).size());
+        time(phase, "active loans by user", calls, () ->
+                transactionRepository.findActiveTransactionsByUser(randomId(random, userIds)).size());
+        time(phase, "user loan summary", calls, () ->
+                transactionRepository.findUserLoanSummary(randomId(random, userIds), today).size());
+        time(phase, "active loans by book", calls, () ->
+                transactionRepository.findActiveTransactionsByBook(randomId(random, bookIds)).size());
+        time(phase, "open loan for return", calls, () ->
+                jdbc.queryForObject("SELECT count(*) FROM library_transaction WHERE user_id = ? AND return_date IS NULL",
+                        Long.class, randomId(random, userIds)));
+        time(phase, "overdue notice page (1000)", Math.max(10, calls / 20), () ->
+                transactionRepository.findOverdueLoansToNotify(today, 0L, 0L, Limit.of(1000)).size());
+        time(phase, "all overdue loans", Math.max(5, calls / 100), () ->
+                transactionRepository.findOverdueTransactions().size());
+        time(phase, "active loan count", Math.max(5, calls / 100), () ->
+                jdbc.queryForObject("SELECT count(*) FROM library_transaction WHERE return_date IS NULL", Long.class));
+    }
+
+    private void time(String phase, String name, int count, LongSupplier query) {
+        // Warm-up pass, then the measured calls, each in its own read-only transaction
+        for (int i = 0; i < Math.max(5, count / 10); i++) {
+            readOnly.execute(status -> query.getAsLong());
+        }
+        double[] millis = new double[count];
+        for (int i = 0; i < count; i++) {
+            long startedAt = System.nanoTime();
+            readOnly.execute(status -> query.getAsLong());
+            millis[i] = (System.nanoTime() - startedAt) / 1e6;
+        }
+        Arrays.sort(millis);
+        double average = Arrays.stream(millis).average().orElse(0);
+        double p99 = millis[(int) Math.ceil(count * 0.99) - 1];
+        results.put(phase + " " + name, new double[]{average, p99});
+        System.out.printf("  %-6s %-34s avg %9.3f ms  p99 %9.3f ms%n", phase, name, average, p99);
+    }
+
+    private void printSizes(String phase) {
+        Map<String, Object> sizes = jdbc.queryForMap(SIZES);
+        System.out.printf("%s: library_transaction %s rows, table %s, indexes %s%n", phase,
+                sizes.get("row_count"), sizes.get("table_size"), sizes.get("index_size"));
+    }
+
+    private static long randomId(SplittableRandom random, long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/books?limit=20 over HTTP under the default profile (SQL echo, console logging) and under
+// "prod" (async JSON logging, sampled access log, slow-query log only). Each profile gets its own fork,
+// so logging is configured from scratch; the forks' stdout goes to the JMH runner, as a server's would
+// to its log collector. Compare the two rows of the result:
+//
+//   mvn -Pbenchmarks verify -DskipTests -Djmh.includes=LoggingProfile
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(8)
+@Fork(1)
+public class LoggingProfileBenchmark {
+
+    private static final int BOOKS = 1000;
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest browse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = "prod".equals(profile)
+                ? BenchmarkSupport.startApplicationWithConfiguredLogging(postgres, "--spring.profiles.active=prod")
+                : BenchmarkSupport.startApplicationWithConfiguredLogging(postgres);
+        context.getBean(JdbcTemplate.class).update("INSERT INTO library_book " +
+                "(title, author, available, version, total_copies, available_copies) " +
+                "SELECT 'Benchmark Title ' || g, 'Benchmark Author', true, 0, 1, 1 FROM generate_series(1, ?) g", BOOKS);
+
+        // The filter only verifies the token, so the reader needs no user row
+        String token = context.getBean(JwtUtil.class).generateToken(1L, "reader@example.com", "Reader", "STUDENT");
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newHttpClient();
+        browse = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int browseBooks() throws IOException, InterruptedException {
+        int status = client.send(browse, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("GET /api/books answered " + status);
+        }
+        return status;
+    }
+}
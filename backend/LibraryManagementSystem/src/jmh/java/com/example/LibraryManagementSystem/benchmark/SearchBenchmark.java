@@ -0,0 +1,138 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.service.BookService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BookServiceImpl.searchBooks end to end (service, JPA, trigram indexes) against an embedded
+// PostgreSQL seeded with generated titles and authors, next to the query it replaced: unbounded
+// LOWER(col) LIKE '%term%' over a copy of the table with only the old B-tree title/author indexes.
+//
+// Under JMH with the rest of the suite, or on its own with the p50/p99 checks:
+//
+//   mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.LibraryManagementSystem.benchmark.SearchBenchmark
+//
+// The main fails unless the ranked search beats the old query by at least SPEEDUP at both p50 and p99.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 4)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final String[] TERMS = {"dune", "storm", "tolkien", "kingdom of", "iron crown 4", "no such title"};
+
+    private static final double SPEEDUP = 4;
+
+    // The pre-trigram query, as the old JPQL translated it
+    private static final String LEGACY_SEARCH = "SELECT * FROM legacy_book b WHERE " +
+            "LOWER(b.title) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', ?, '%'))";
+
+    @Param({"1000000"})
+    private int books;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private JdbcTemplate jdbc;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = BenchmarkSupport.startApplication(postgres);
+
+        jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("""
+                INSERT INTO library_book (title, author, available, version, total_copies, available_copies)
+                SELECT (ARRAY['The','Dune','Shadow','River','Empire','Garden','Night','War','Silent','Last',
+                              'Lost','Hidden','Broken','Golden','Iron','Glass','Storm','Winter','Kingdom','Dragon'])[1 + g % 20]
+                       || ' ' || (ARRAY['of','and the','in the','Beyond the','of the'])[1 + (g / 20) % 5]
+                       || ' ' || (ARRAY['Stars','Sea','Mountain','City','Heart','Memory','Machine','Code','Library','Crown',
+                                        'Forest','Island','Letters','Journey','Promise','Kingdom','Night','Fire','Rain','Bones'])[1 + (g / 100) % 20]
+                       || ' ' || g,
+                       (ARRAY['Austen','Tolkien','Herbert','Asimov','Le Guin','Tolstoy','Orwell','Morrison','Achebe','Murakami',
+                              'Atwood','Borges','Calvino','Pratchett','Christie','Dickens','Woolf','Rushdie','Adichie','Ishiguro'])[1 + (g / 7) % 20],
+                       true, 0, 1, 1
+                FROM generate_series(1, ?) g
+                """, books);
+        // Same rows, indexed the way library_book was before the trigram indexes
+        jdbc.execute("CREATE TABLE legacy_book AS SELECT * FROM library_book");
+        jdbc.execute("ALTER TABLE legacy_book ADD PRIMARY KEY (id)");
+        jdbc.execute("CREATE INDEX idx_legacy_book_title ON legacy_book (title)");
+        jdbc.execute("CREATE INDEX idx_legacy_book_author ON legacy_book (author)");
+        // What autovacuum would have done by the time a real catalogue of this size is searched
+        jdbc.execute("VACUUM ANALYZE library_book");
+        jdbc.execute("VACUUM ANALYZE legacy_book");
+        bookService = context.getBean(BookService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<BookDto> search() {
+        String term = TERMS[next++ % TERMS.length];
+        return bookService.searchBooks(term, 50);
+    }
+
+    @Benchmark
+    public List<Long> legacyLikeSearch() {
+        String term = TERMS[next++ % TERMS.length];
+        return jdbc.query(LEGACY_SEARCH, (rs, row) -> rs.getLong("id"), term, term);
+    }
+
+    public static void main(String[] args) throws Exception {
+        // In-process: exec:java's class path is not one a forked JVM could use
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(SearchBenchmark.class.getName())
+                .forks(0)
+                .build()).run();
+
+        Statistics search = null;
+        Statistics legacy = null;
+        for (RunResult result : results) {
+            String label = result.getPrimaryResult().getLabel();
+            if (label.equals("search")) {
+                search = result.getPrimaryResult().getStatistics();
+            } else if (label.equals("legacyLikeSearch")) {
+                legacy = result.getPrimaryResult().getStatistics();
+            }
+        }
+        if (search == null || legacy == null) {
+            throw new IllegalStateException("Missing results for search or legacyLikeSearch");
+        }
+
+        System.out.printf("%n%-18s %10s %10s%n", "ms per search", "p50", "p99");
+        System.out.printf("%-18s %10.3f %10.3f%n", "trigram, ranked", search.getPercentile(50), search.getPercentile(99));
+        System.out.printf("%-18s %10.3f %10.3f%n", "LIKE, unbounded", legacy.getPercentile(50), legacy.getPercentile(99));
+
+        check("p50", search.getPercentile(50) * SPEEDUP <= legacy.getPercentile(50));
+        check("p99", search.getPercentile(99) * SPEEDUP <= legacy.getPercentile(99));
+    }
+
+    private static void check(String what, boolean passed) {
+        if (!passed) {
+            throw new AssertionError("Search " + what + " is not " + SPEEDUP + "x faster than the LIKE query");
+        }
+        System.out.println("OK: " + what);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.UserLoansDto;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import com.example.LibraryManagementSystem.service.TransactionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/users/{id}/loans at 1,000 concurrent callers over data from the "seed" profile:
+// through the service (userLoans cache in front of the query) and straight to the summary query
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(1000)
+@Fork(1)
+public class UserLoansBenchmark {
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private long[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = BenchmarkSupport.startApplication(postgres,
+                "--spring.profiles.active=seed",
+                "--app.seed.students=10000", "--app.seed.teachers=1000",
+                "--app.seed.books=20000", "--app.seed.loans=500000",
+                // Connection waits are part of what this measures; do not fail them
+                "--spring.datasource.hikari.connection-timeout=60000");
+
+        transactionService = context.getBean(TransactionService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        userIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM library_user ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Optional<UserLoansDto> cached() {
+        return transactionService.getUserLoans(randomUser());
+    }
+
+    @Benchmark
+    public List<Object[]> uncachedQuery() {
+        return readOnlyTransaction.execute(status ->
+                transactionRepository.findUserLoanSummary(randomUser(), LocalDate.now()));
+    }
+
+    private long randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.dto.CreateUserDto;
+import com.example.LibraryManagementSystem.service.UserProvisioningService;
+import com.example.LibraryManagementSystem.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Enrolling USERS students, in users/sec: one at a time through UserService.saveUser (one BCrypt hash
+// and one transaction per user) and as one NDJSON upload through UserProvisioningService.provision
+// (hashes in parallel on provisioningHashingExecutor, JDBC batches per chunk)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class UserProvisioningBenchmark {
+
+    private static final int USERS = 500;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserProvisioningService userProvisioningService;
+    // Emails must be unique across invocations
+    private final AtomicLong emails = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = BenchmarkSupport.startApplication(postgres);
+        userService = context.getBean(UserService.class);
+        userProvisioningService = context.getBean(UserProvisioningService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void saveUserOneAtATime() {
+        for (int i = 0; i < USERS; i++) {
+            CreateUserDto dto = new CreateUserDto();
+            dto.setUsername("Benchmark Student");
+            dto.setEmail(nextEmail());
+            dto.setPassword("correct horse battery staple");
+            dto.setRole("STUDENT");
+            dto.setDepartment("Physics");
+            dto.setYearOfStudy(2);
+            userService.saveUser(dto);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public long provisionBatch() throws IOException {
+        StringBuilder upload = new StringBuilder();
+        for (int i = 0; i < USERS; i++) {
+            upload.append("{\"username\":\"Benchmark Student\",\"email\":\"").append(nextEmail())
+                    .append("\",\"password\":\"correct horse battery staple\",\"role\":\"STUDENT\",")
+                    .append("\"department\":\"Physics\",\"yearOfStudy\":2}\n");
+        }
+        AtomicLong created = new AtomicLong();
+        userProvisioningService.provision(new ByteArrayInputStream(upload.toString().getBytes(StandardCharsets.UTF_8)),
+                result -> {
+                    if (!"CREATED".equals(result.getStatus())) {
+                        throw new IllegalStateException("Row " + result.getRow() + " failed: " + result.getMessage());
+                    }
+                    created.incrementAndGet();
+                });
+        return created.get();
+    }
+
+    private String nextEmail() {
+        return "student" + emails.incrementAndGet() + "@benchmark.library";
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.LibraryManagementSystem.loadtest;
+
+import com.example.LibraryManagementSystem.dto.AuthenticationResponseDto;
+import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.dto.LoginRequestDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Closed-loop load driver for the REST API against a server seeded with the "seed" profile (SeededServer).
+// Each virtual user logs in as a seeded student or teacher, then loops over a weighted mix of
+// login, search, book lookup, borrow and return, and returns whatever it still holds at the end.
+// reactive-search sends the same searches to the reactive API (ReactiveBookController).
+//
+//   mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.LibraryManagementSystem.loadtest.LoadDriver \
+//       -Dexec.args="--users=50 --duration=60 --mix=search:60,book:20,borrow:8,return:8,login:4"
+//
+// Options: --base-url (http://localhost:9090), --users (50), --duration in seconds (60), --warmup in
+// seconds (10, not reported), --students / --teachers (seed sizes), --password (password), --mix.
+// Reports throughput, p50/p95/p99 latency and error rate per endpoint; 4xx answers (book not
+// available, no open loan) are counted as rejected, 5xx and I/O failures as errors.
+// --max-p99=borrow:150,return:150 turns the run into a latency check: it exits with status 1 when
+// an operation's p99 (ms) is above its limit.
+//
+// --sweep=50,200,500,1000 repeats the run (warm-up included) at each of those user counts and ends
+// with one summary row per count and endpoint. Servlet vs reactive search as clients are added:
+//
+//   -Dexec.args="--sweep=50,200,500,1000 --duration=30 --mix=search:100"
+//   -Dexec.args="--sweep=50,200,500,1000 --duration=30 --mix=reactive-search:100"
+public final class LoadDriver {
+
+    private static final String EMAIL_DOMAIN = "seed.library.test";
+    private static final Map<String, String> ENDPOINTS = Map.of(
+            "login", "POST /api/auth/login",
+            "search", "GET /api/books/search",
+            "reactive-search", "GET /api/reactive/books/search",
+            "book", "GET /api/books/{id}",
+            "borrow", "POST /api/transactions/borrow",
+            "return", "POST /api/transactions/return");
+    private static final String[] SEARCH_TERMS = {"dragon", "storm", "kingdom", "tolkien", "austen", "the lost",
+            "iron crown", "memory", "murakami", "garden of", "winter", "no such book"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final String[] operations;
+    private final int[] cumulativeWeights;
+
+    private volatile long recordFrom;
+    private volatile long stopAt;
+    private List<Long> bookIds;
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:9090");
+
+        String[] mix = options.getOrDefault("mix", "search:60,book:20,borrow:8,return:8,login:4").split(",");
+        operations = new String[mix.length];
+        cumulativeWeights = new int[mix.length];
+        int total = 0;
+        for (int i = 0; i < mix.length; i++) {
+            String[] entry = mix[i].split(":");
+            operations[i] = entry[0].trim();
+            total += Integer.parseInt(entry[1].trim());
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "true");
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws Exception {
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))).toNanos();
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))).toNanos();
+        int[] userCounts = Arrays.stream(options.getOrDefault("sweep", options.getOrDefault("users", "50")).split(","))
+                .mapToInt(count -> Integer.parseInt(count.trim()))
+                .toArray();
+
+        bookIds = loadBookIds(login(email(new SplittableRandom(0))).token(), 20);
+        boolean passed = true;
+        Map<Integer, Map<String, EndpointStats>> sweep = new LinkedHashMap<>();
+        for (int users : userCounts) {
+            Map<String, EndpointStats> stats = drive(users, warmupNanos, durationNanos);
+            report(stats, durationNanos / 1e9);
+            passed &= checkLatencyLimits(stats);
+            sweep.put(users, stats);
+        }
+        if (userCounts.length > 1) {
+            reportSweep(sweep, durationNanos / 1e9);
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    private Map<String, EndpointStats> drive(int users, long warmupNanos, long durationNanos) throws Exception {
+        System.out.printf("%nDriving %s with %d users for %ds (after %ds warm-up), %d candidate books, mix %s%n",
+                baseUrl, users, durationNanos / 1_000_000_000, warmupNanos / 1_000_000_000, bookIds.size(),
+                options.getOrDefault("mix", "default"));
+
+        long start = System.nanoTime();
+        recordFrom = start + warmupNanos;
+        stopAt = recordFrom + durationNanos;
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        List<Future<Map<String, EndpointStats>>> results = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            long seed = i;
+            results.add(pool.submit(() -> new VirtualUser(new SplittableRandom(seed)).call()));
+        }
+        Map<String, EndpointStats> merged = new LinkedHashMap<>();
+        for (Future<Map<String, EndpointStats>> result : results) {
+            result.get().forEach((endpoint, stats) -> merged.merge(endpoint, stats, EndpointStats::merge));
+        }
+        pool.shutdown();
+        return merged;
+    }
+
+    private boolean checkLatencyLimits(Map<String, EndpointStats> stats) {
+        String limits = options.get("max-p99");
+        if (limits == null) {
+            return true;
+        }
+        boolean passed = true;
+        for (String limit : limits.split(",")) {
+            String[] entry = limit.split(":");
+            String endpoint = ENDPOINTS.get(entry[0].trim());
+            if (endpoint == null) {
+                throw new IllegalArgumentException("Unknown operation in --max-p99: " + entry[0]);
+            }
+            double maxMillis = Double.parseDouble(entry[1].trim());
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (endpointStats == null || endpointStats.count == 0) {
+                System.out.printf("FAIL %s: no requests measured%n", endpoint);
+                passed = false;
+                continue;
+            }
+            long[] sorted = Arrays.copyOf(endpointStats.latencies, endpointStats.count);
+            Arrays.sort(sorted);
+            double p99 = percentile(sorted, 0.99);
+            System.out.printf("%s %s: p99 %.2f ms, limit %.2f ms%n", p99 <= maxMillis ? "PASS" : "FAIL", endpoint, p99, maxMillis);
+            passed &= p99 <= maxMillis;
+        }
+        return passed;
+    }
+
+    // One simulated reader: its own token, its own borrowed books, its own stats (merged at the end)
+    private class VirtualUser {
+        private final SplittableRandom random;
+        private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        private final Deque<Long> borrowed = new ArrayDeque<>();
+        private Session session;
+
+        VirtualUser(SplittableRandom random) {
+            this.random = random;
+        }
+
+        Map<String, EndpointStats> call() {
+            String email = email(random);
+            session = timedLogin(email);
+            while (System.nanoTime() < stopAt) {
+                if (session == null) {
+                    session = timedLogin(email);
+                    continue;
+                }
+                switch (nextOperation(random)) {
+                    case "login" -> {
+                        Session renewed = timedLogin(email);
+                        session = renewed == null ? session : renewed;
+                    }
+                    case "search" -> send(ENDPOINTS.get("search"), get("/api/books/search?limit=20&q=" + searchTerm()));
+                    case "reactive-search" -> send(ENDPOINTS.get("reactive-search"),
+                            get("/api/reactive/books/search?limit=20&q=" + searchTerm()));
+                    case "book" -> send(ENDPOINTS.get("book"), get("/api/books/" + randomBook()));
+                    case "borrow" -> borrow(randomBook());
+                    case "return" -> {
+                        if (borrowed.isEmpty()) {
+                            borrow(randomBook());
+                        } else {
+                            returnBook(borrowed.peekFirst());
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown operation in --mix");
+                }
+            }
+            // Leave the catalogue as we found it; these calls start after stopAt, so they are not measured
+            while (!borrowed.isEmpty() && session != null) {
+                returnBook(borrowed.peekFirst());
+            }
+            return stats;
+        }
+
+        private void borrow(long bookId) {
+            if (send(ENDPOINTS.get("borrow"), post("/api/transactions/borrow?userId=" + session.userId()
+                    + "&bookId=" + bookId, session.token())) / 100 == 2) {
+                borrowed.addLast(bookId);
+            }
+        }
+
+        private void returnBook(long bookId) {
+            int status = send(ENDPOINTS.get("return"), post("/api/transactions/return?userId=" + session.userId()
+                    + "&bookId=" + bookId, session.token()));
+            if (status / 100 == 2 || status / 100 == 4 || System.nanoTime() >= stopAt) {
+                borrowed.remove(bookId);
+            }
+        }
+
+        private Session timedLogin(String email) {
+            long started = System.nanoTime();
+            try {
+                Session renewed = login(email);
+                record(ENDPOINTS.get("login"), started, 200);
+                return renewed;
+            } catch (LoginFailedException e) {
+                record(ENDPOINTS.get("login"), started, e.status);
+            } catch (IOException e) {
+                record(ENDPOINTS.get("login"), started, 0);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + session.token())
+                    .GET()
+                    .build();
+        }
+
+        private int send(String endpoint, HttpRequest request) {
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = 0;
+            }
+            record(endpoint, started, status);
+            if (status == 401) {
+                session = null;
+            }
+            return status;
+        }
+
+        private void record(String endpoint, long started, int status) {
+            if (started >= recordFrom && started < stopAt) {
+                stats.computeIfAbsent(endpoint, key -> new EndpointStats()).add(System.nanoTime() - started, status);
+            }
+        }
+
+        private String searchTerm() {
+            return URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8);
+        }
+
+        private long randomBook() {
+            // Same skew as the seeder: a few popular titles get most of the traffic
+            double r = random.nextDouble();
+            return bookIds.get((int) (bookIds.size() * r * r * r));
+        }
+    }
+
+    private String nextOperation(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private String email(SplittableRandom random) {
+        int students = Integer.parseInt(options.getOrDefault("students", "10000"));
+        int teachers = Integer.parseInt(options.getOrDefault("teachers", "1000"));
+        int n = random.nextInt(students + teachers);
+        return n < students
+                ? "student" + (n + 1) + "@" + EMAIL_DOMAIN
+                : "teacher" + (n - students + 1) + "@" + EMAIL_DOMAIN;
+    }
+
+    private Session login(String email) throws IOException, InterruptedException {
+        LoginRequestDto body = new LoginRequestDto();
+        body.setEmail(email);
+        body.setPassword(options.getOrDefault("password", "password"));
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new LoginFailedException(response.statusCode());
+        }
+        AuthenticationResponseDto auth = objectMapper.readValue(response.body(), AuthenticationResponseDto.class);
+        return new Session(auth.getData().getToken(), auth.getData().getUserid());
+    }
+
+    private HttpRequest post(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    // Keyset pages of the catalogue, so borrow targets are real ids
+    private List<Long> loadBookIds(String token, int pages) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        long after = 0;
+        for (int page = 0; page < pages; page++) {
+            HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/books?limit=500&after=" + after))
+                            .header("Authorization", "Bearer " + token)
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            List<BookDto> books = objectMapper.readValue(response.body(), new TypeReference<>() { });
+            if (books.isEmpty()) {
+                break;
+            }
+            books.forEach(book -> ids.add(book.getId()));
+            after = books.get(books.size() - 1).getId();
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No books found; start the server with SeededServer first");
+        }
+        return ids;
+    }
+
+    private static void report(Map<String, EndpointStats> stats, double seconds) {
+        System.out.printf("%n%-30s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "rejected", "errors");
+        EndpointStats total = new EndpointStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            print(endpoint, endpointStats, seconds);
+            total.merge(endpointStats);
+        });
+        print("total", total, seconds);
+    }
+
+    // One row per user count and endpoint, in sweep order
+    private static void reportSweep(Map<Integer, Map<String, EndpointStats>> sweep, double seconds) {
+        System.out.printf("%nSweep summary%n%7s %-30s %9s %9s %9s %9s %9s%n",
+                "users", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        sweep.forEach((users, stats) -> stats.forEach((endpoint, endpointStats) -> {
+            long[] sorted = Arrays.copyOf(endpointStats.latencies, endpointStats.count);
+            Arrays.sort(sorted);
+            System.out.printf("%7d %-30s %9.1f %9.2f %9.2f %9.2f %8.2f%%%n",
+                    users, endpoint, endpointStats.count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                    endpointStats.count == 0 ? 0 : 100.0 * endpointStats.errors / endpointStats.count);
+        }));
+    }
+
+    private static void print(String endpoint, EndpointStats stats, double seconds) {
+        long[] sorted = Arrays.copyOf(stats.latencies, stats.count);
+        Arrays.sort(sorted);
+        System.out.printf("%-30s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f%% %8.2f%%%n",
+                endpoint, stats.count, stats.count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6,
+                stats.count == 0 ? 0 : 100.0 * stats.rejected / stats.count,
+                stats.count == 0 ? 0 : 100.0 * stats.errors / stats.count);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)] / 1e6;
+    }
+
+    private record Session(String token, Long userId) {
+    }
+
+    private static class LoginFailedException extends IOException {
+        private final int status;
+
+        LoginFailedException(int status) {
+            super("Login failed with HTTP " + status);
+            this.status = status;
+        }
+    }
+
+    // Raw latencies of one endpoint; sorted once for the report
+    private static class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long rejected;
+        private long errors;
+
+        void add(long nanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (status == 0 || status >= 500) {
+                errors++;
+            } else if (status >= 400) {
+                rejected++;
+            }
+        }
+
+        EndpointStats merge(EndpointStats other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            rejected += other.rejected;
+            errors += other.errors;
+            return this;
+        }
+    }
+}
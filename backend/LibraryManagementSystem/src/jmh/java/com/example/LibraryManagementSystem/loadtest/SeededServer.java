@@ -0,0 +1,28 @@
+package com.example.LibraryManagementSystem.loadtest;
+
+import com.example.LibraryManagementSystem.LibraryManagementSystemApplication;
+import org.springframework.boot.SpringApplication;
+
+import java.util.stream.Stream;
+
+// The application with the "seed" profile, for LoadDriver. DataSeeder is only on the benchmarks
+// class path, so a server started from the application jar never seeds:
+//
+//   mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=com.example.LibraryManagementSystem.loadtest.SeededServer \
+//       -Dexec.args="--app.seed.loans=1000000"
+//
+// Arguments are passed on to Spring Boot; seed sizes are in application-seed.properties.
+//
+// Request threading modes are compared by running LoadDriver --sweep against this server twice, built
+// with -Pjava21 and started on Java 21 without and then with --spring.threads.virtual.enabled=true.
+public final class SeededServer {
+
+    private SeededServer() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication.run(LibraryManagementSystemApplication.class,
+                Stream.concat(Stream.of("--spring.profiles.active=seed"), Stream.of(args)).toArray(String[]::new));
+    }
+}
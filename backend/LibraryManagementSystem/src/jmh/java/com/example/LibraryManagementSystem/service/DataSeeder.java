@@ -0,0 +1,281 @@
+package com.example.LibraryManagementSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Synthetic data for load tests (--spring.profiles.active=seed, sizes in application-seed.properties).
+// Fills users, students, teachers, books and loan history with JDBC batches, one transaction per batch,
+// then brings copy counters and statistics in line with the open loans. Skipped if seed users already exist.
+// Lives with the benchmarks (-Pbenchmarks) so it never ships in the application jar; SeededServer runs
+// the application with it. Same package as the services for TransactionServiceImpl.FINE_PER_DAY.
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    static final String EMAIL_DOMAIN = "seed.library.test";
+
+    private static final String INSERT_USER =
+            "INSERT INTO library_user (name, email, password, role) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_STUDENT =
+            "INSERT INTO library_student (user_id, year_of_study, branch) VALUES (?, ?, ?)";
+    private static final String INSERT_TEACHER =
+            "INSERT INTO library_teacher (user_id, department, designation) VALUES (?, ?, ?)";
+    private static final String INSERT_BOOK =
+            "INSERT INTO library_book (title, author, available, version, total_copies, available_copies) " +
+                    "VALUES (?, ?, true, 0, ?, ?)";
+    private static final String INSERT_LOAN =
+            "INSERT INTO library_transaction (user_id, book_id, borrow_date, due_date, return_date, fine) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_AVAILABLE_COPIES = """
+            UPDATE library_book b
+               SET available_copies = b.total_copies - o.open_loans,
+                   available = b.total_copies > o.open_loans
+              FROM (SELECT book_id, count(*) AS open_loans
+                      FROM library_transaction
+                     WHERE return_date IS NULL
+                     GROUP BY book_id) o
+             WHERE b.id = o.book_id
+            """;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Liam", "Emma", "Noah", "Olivia", "Arjun", "Sofia",
+            "Mateo", "Aisha", "Kenji", "Chloe", "Omar", "Isla", "Ravi", "Mia", "Lucas", "Zara", "Ethan", "Ananya"};
+    private static final String[] LAST_NAMES = {"Sharma", "Smith", "Garcia", "Chen", "Patel", "Kowalski", "Okafor",
+            "Nguyen", "Silva", "Müller", "Tanaka", "Rossi", "Khan", "Brown", "Dubois", "Gaikwad", "Kim", "Ivanova"};
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mechanical", "Electrical", "Civil",
+            "Physics", "Mathematics", "Chemistry", "Economics", "History", "Literature"};
+    private static final String[] DESIGNATIONS = {"Professor", "Associate Professor", "Assistant Professor", "Lecturer"};
+    private static final String[] TITLE_WORDS = {"The", "Shadow", "River", "Empire", "Garden", "Night", "Silent",
+            "Last", "Lost", "Hidden", "Broken", "Golden", "Iron", "Glass", "Storm", "Winter", "Kingdom", "Dragon"};
+    private static final String[] TITLE_LINKS = {"of", "and the", "in the", "Beyond the", "of the", "Under the"};
+    private static final String[] TITLE_NOUNS = {"Stars", "Sea", "Mountain", "City", "Heart", "Memory", "Machine",
+            "Code", "Library", "Crown", "Forest", "Island", "Letters", "Journey", "Promise", "Fire", "Rain", "Bones"};
+    private static final String[] AUTHORS = {"Jane Austen", "J. R. R. Tolkien", "Frank Herbert", "Isaac Asimov",
+            "Ursula K. Le Guin", "Leo Tolstoy", "George Orwell", "Toni Morrison", "Chinua Achebe", "Haruki Murakami",
+            "Margaret Atwood", "Jorge Luis Borges", "Italo Calvino", "Terry Pratchett", "Agatha Christie",
+            "Charles Dickens", "Virginia Woolf", "Salman Rushdie", "Chimamanda Ngozi Adichie", "Kazuo Ishiguro"};
+
+    private static final int HISTORY_DAYS = 3 * 365;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final StatisticsService statisticsService;
+    private final BorrowingPolicy borrowingPolicy;
+
+    @Value("${app.seed.students:10000}")
+    private int students;
+
+    @Value("${app.seed.teachers:1000}")
+    private int teachers;
+
+    @Value("${app.seed.books:100000}")
+    private int books;
+
+    @Value("${app.seed.loans:1000000}")
+    private long loans;
+
+    // Share of loans still open; each open loan holds a copy, so it is capped by the copies available
+    @Value("${app.seed.open-loan-ratio:0.05}")
+    private double openLoanRatio;
+
+    @Value("${app.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.seed.password:password}")
+    private String password;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Boolean seeded = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM library_user WHERE email LIKE ?)", Boolean.class, "%@" + EMAIL_DOMAIN);
+        if (Boolean.TRUE.equals(seeded)) {
+            log.info("Seed data already present, skipping");
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        // Every seeded user shares one hash, so seeding does not spend minutes in BCrypt
+        String hash = passwordEncoder.encode(password);
+
+        long[] userIds = new long[students + teachers];
+        insertUsers(random, "STUDENT", students, hash, userIds, 0);
+        insertUsers(random, "TEACHER", teachers, hash, userIds, students);
+        log.info("Seeded {} students and {} teachers (emails student<n>@{} / teacher<n>@{}, password app.seed.password)",
+                students, teachers, EMAIL_DOMAIN, EMAIL_DOMAIN);
+
+        long[] bookIds = new long[books];
+        int[] freeCopies = new int[books];
+        insertBooks(random, bookIds, freeCopies);
+        log.info("Seeded {} books", books);
+
+        insertLoans(random, userIds, bookIds, freeCopies);
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_AVAILABLE_COPIES));
+        jdbcTemplate.execute("ANALYZE library_user");
+        jdbcTemplate.execute("ANALYZE library_book");
+        jdbcTemplate.execute("ANALYZE library_transaction");
+        statisticsService.reconcile();
+        log.info("Seeding finished in {} s", (System.currentTimeMillis() - startedAt) / 1000);
+    }
+
+    private void insertUsers(SplittableRandom random, String role, int count, String hash, long[] ids, int offset) {
+        String prefix = role.toLowerCase();
+        for (int from = 0; from < count; from += batchSize) {
+            int size = Math.min(batchSize, count - from);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(
+                        connection -> connection.prepareStatement(INSERT_USER, new String[]{"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                ps.setString(1, pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES));
+                                ps.setString(2, prefix + (first + i + 1) + "@" + EMAIL_DOMAIN);
+                                ps.setString(3, hash);
+                                ps.setString(4, role);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return size;
+                            }
+                        },
+                        keyHolder);
+
+                List<Object[]> details = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    long id = ((Number) keyHolder.getKeyList().get(i).get("id")).longValue();
+                    ids[offset + first + i] = id;
+                    details.add("STUDENT".equals(role)
+                            ? new Object[]{id, 1 + random.nextInt(4), pick(random, DEPARTMENTS)}
+                            : new Object[]{id, pick(random, DEPARTMENTS), pick(random, DESIGNATIONS)});
+                }
+                if ("STUDENT".equals(role)) {
+                    jdbcTemplate.batchUpdate(INSERT_STUDENT, details, new int[]{Types.BIGINT, Types.INTEGER, Types.VARCHAR});
+                } else {
+                    jdbcTemplate.batchUpdate(INSERT_TEACHER, details, new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR});
+                }
+            });
+        }
+    }
+
+    private void insertBooks(SplittableRandom random, long[] ids, int[] copies) {
+        for (int from = 0; from < books; from += batchSize) {
+            int size = Math.min(batchSize, books - from);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(
+                        connection -> connection.prepareStatement(INSERT_BOOK, new String[]{"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                // Mostly single copies, a few course texts with several
+                                int bookCopies = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(4);
+                                copies[first + i] = bookCopies;
+                                ps.setString(1, pick(random, TITLE_WORDS) + " " + pick(random, TITLE_LINKS) + " "
+                                        + pick(random, TITLE_NOUNS) + (random.nextInt(3) == 0 ? " " + (first + i + 1) : ""));
+                                ps.setString(2, pick(random, AUTHORS));
+                                ps.setInt(3, bookCopies);
+                                ps.setInt(4, bookCopies);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return size;
+                            }
+                        },
+                        keyHolder);
+                for (int i = 0; i < size; i++) {
+                    ids[first + i] = ((Number) keyHolder.getKeyList().get(i).get("id")).longValue();
+                }
+            });
+        }
+    }
+
+    private void insertLoans(SplittableRandom random, long[] userIds, long[] bookIds, int[] freeCopies) {
+        long startedAt = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        long open = 0;
+        // Students fill the front of userIds, teachers the rest; open loans stay within each role's limit
+        BorrowingPolicy.Rule studentRule = borrowingPolicy.ruleFor("STUDENT");
+        BorrowingPolicy.Rule teacherRule = borrowingPolicy.ruleFor("TEACHER");
+        int[] openPerUser = new int[userIds.length];
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long n = 0; n < loans; n++) {
+            int user = skewed(random, userIds.length);
+            long userId = userIds[user];
+            BorrowingPolicy.Rule rule = user < students ? studentRule : teacherRule;
+            int book = skewed(random, bookIds.length);
+
+            if (random.nextDouble() < openLoanRatio && freeCopies[book] > 0 && openPerUser[user] < rule.maxLoans()) {
+                // Open loan from the last 40 days; those older than the loan period are overdue
+                freeCopies[book]--;
+                openPerUser[user]++;
+                open++;
+                LocalDate borrowDate = today.minusDays(random.nextInt(40));
+                batch.add(new Object[]{userId, bookIds[book], Date.valueOf(borrowDate),
+                        Date.valueOf(borrowDate.plusDays(rule.loanDays())), null, null});
+            } else {
+                LocalDate borrowDate = today.minusDays(rule.loanDays() + 1 + random.nextInt(HISTORY_DAYS));
+                LocalDate dueDate = borrowDate.plusDays(rule.loanDays());
+                LocalDate returnDate = borrowDate.plusDays(1 + random.nextInt(rule.loanDays() + 14));
+                if (returnDate.isAfter(today)) {
+                    returnDate = today;
+                }
+                long daysLate = Math.max(0, returnDate.toEpochDay() - dueDate.toEpochDay());
+                batch.add(new Object[]{userId, bookIds[book], Date.valueOf(borrowDate), Date.valueOf(dueDate),
+                        Date.valueOf(returnDate), daysLate * TransactionServiceImpl.FINE_PER_DAY});
+            }
+
+            if (batch.size() == batchSize || n == loans - 1) {
+                List<Object[]> rows = batch;
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_LOAN, rows,
+                        new int[]{Types.BIGINT, Types.BIGINT, Types.DATE, Types.DATE, Types.DATE, Types.DOUBLE}));
+                batch = new ArrayList<>(batchSize);
+                if ((n + 1) % 1_000_000 == 0) {
+                    log.info("Seeded {} loans ({} loans/sec)", n + 1,
+                            (n + 1) * 1000 / Math.max(1, System.currentTimeMillis() - startedAt));
+                }
+            }
+        }
+        log.info("Seeded {} loans, {} still open, in {} ms", loans, open, System.currentTimeMillis() - startedAt);
+    }
+
+    // Popularity skew: low indexes are drawn far more often, like bestsellers and heavy readers
+    private static int skewed(SplittableRandom random, int size) {
+        double r = random.nextDouble();
+        return (int) (size * r * r * r);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
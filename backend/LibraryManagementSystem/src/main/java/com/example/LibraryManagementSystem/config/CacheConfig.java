@@ -0,0 +1,70 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Catalogue caches used by BookServiceImpl
+    public static final String BOOKS = "books";
+    public static final String BOOK_LIST = "bookList";
+    // Per-user loan summary, evicted by borrow and return; the TTL bounds staleness from fine accrual
+    public static final String USER_LOANS = "userLoans";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.books.max-size:10000}") long maxSize,
+                                     @Value("${app.cache.books.ttl:10m}") Duration ttl,
+                                     @Value("${app.cache.user-loans.max-size:100000}") long userLoansMaxSize,
+                                     @Value("${app.cache.user-loans.ttl:30s}") Duration userLoansTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS, BOOK_LIST) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new EvictionGuardedCache(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.registerCustomCache(USER_LOANS, Caffeine.newBuilder()
+                .maximumSize(userLoansMaxSize)
+                .expireAfterWrite(userLoansTtl)
+                .recordStats()
+                .build());
+
+        // Evictions issued inside a transaction are applied only after it commits, so a reader
+        // starting after the evict loads the committed row. A reader that loaded the row before
+        // the commit and puts after the evict is dropped by EvictionGuardedCache.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // EvictionGuardedCache is not a CaffeineCache, so Spring Boot's Caffeine binder skips it; this binds
+    // the Caffeine cache underneath, publishing the usual cache.gets/puts/evictions meters per cache name
+    @Bean
+    public CacheMeterBinderProvider<EvictionGuardedCache> evictionGuardedCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<EvictionGuardedCache>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public MeterBinder getMeterBinder(EvictionGuardedCache cache, Iterable<Tag> tags) {
+                return new CaffeineCacheMetrics<>(
+                        (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(),
+                        cache.getName(), tags);
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Drops a @Cacheable put whose value may predate an eviction of its key.
+// A reader that missed, loaded the row, and was overtaken by a writer's after-commit evict
+// would otherwise cache the pre-commit row until the TTL. The cache aspect misses and puts on
+// the same thread, so the miss records the key's eviction count and the put only goes through
+// if no evict or clear happened in between.
+final class EvictionGuardedCache implements Cache {
+
+    // Keys share striped counters; a collision only costs a skipped put, never a stale one
+    private static final int STRIPES = 1024;
+
+    private final Cache target;
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    private record Miss(Object key, long evictions) {
+    }
+
+    EvictionGuardedCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        // Read the counter before the lookup, so an evict racing the miss also blocks the put
+        long seen = evictionsOf(key);
+        ValueWrapper value = target.get(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, seen));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return target.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return target.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (unchangedSinceMiss(key)) {
+            target.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return unchangedSinceMiss(key) ? target.putIfAbsent(key, value) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet(stripe(key));
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.incrementAndGet(stripe(key));
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        clears.incrementAndGet();
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clears.incrementAndGet();
+        return target.invalidate();
+    }
+
+    // Puts with no miss recorded for the key on this thread (not a read-through) go straight in
+    private boolean unchangedSinceMiss(Object key) {
+        Miss miss = lastMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            return true;
+        }
+        lastMiss.remove();
+        return miss.evictions() == evictionsOf(key);
+    }
+
+    private long evictionsOf(Object key) {
+        return evictions.get(stripe(key)) + clears.get();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
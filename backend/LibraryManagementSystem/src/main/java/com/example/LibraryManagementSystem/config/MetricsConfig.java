@@ -0,0 +1,17 @@
+package com.example.LibraryManagementSystem.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Enables @Timed on service methods (library.service timer, tagged by operation).
+// HTTP, repository, Hikari, Hibernate and cache metrics are bound by Spring Boot auto-configuration.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class NotificationConfig {
+
+    // Overdue notice sends (OverdueNotificationServiceImpl), one thread per notice a run may have in flight
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService overdueNotificationExecutor(@Value("${app.notifications.max-concurrency:8}") int maxConcurrency) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "overdue-notification-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
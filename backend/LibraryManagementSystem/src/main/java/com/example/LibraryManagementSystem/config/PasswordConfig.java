@@ -1,9 +1,14 @@
 package com.example.LibraryManagementSystem.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Configuration
 public class PasswordConfig {
 
@@ -11,4 +16,17 @@ public class PasswordConfig {
     public BCryptPasswordEncoder bCryptPasswordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    // BCrypt for bulk enrolment (UserProvisioningServiceImpl), separate from the login hashing pool
+    // so an enrolment run cannot shed logins. 0 threads means one per core.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService provisioningHashingExecutor(@Value("${app.provisioning.hashing-threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "provisioning-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    // Blocking JPA calls from the reactive endpoints (ReactiveBookController). One thread per pooled
+    // connection: Reactor's shared boundedElastic allows 10 per core, and the threads beyond the pool
+    // size would only sit waiting for a connection until Hikari's connection-timeout.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return Schedulers.newBoundedElastic(poolSize, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "jdbc", 60, true);
+    }
+}
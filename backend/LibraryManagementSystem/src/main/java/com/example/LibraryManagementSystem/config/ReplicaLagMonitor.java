@@ -0,0 +1,108 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Polls every replica for its replay lag and hands out only those within max-lag, round-robin.
+// Runs on its own thread (not @Scheduled) because every instance needs it, including those with
+// app.scheduling.enabled=false.
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // 0 when the replica has replayed everything it received, so an idle primary does not look like lag
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+
+    public ReplicaLagMonitor(List<HikariDataSource> replicaPools, Duration maxLag, Duration checkInterval,
+                             MeterRegistry meterRegistry) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry);
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkAll();
+        checker.scheduleWithFixedDelay(this::checkAll, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    // A replica within max-lag, or null when none is usable and reads must go to the primary
+    public HikariDataSource nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.pool;
+            }
+        }
+        return null;
+    }
+
+    private void checkAll() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                replica.healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (Exception e) {
+                replica.lagSeconds = Double.NaN;
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {} s)", replica.pool.getPoolName(),
+                        replica.healthy ? "in rotation" : "out of rotation", replica.lagSeconds);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
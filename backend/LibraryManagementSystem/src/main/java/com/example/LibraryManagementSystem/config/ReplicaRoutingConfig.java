@@ -0,0 +1,83 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replica routing, enabled by app.datasource.replicas.urls. Connections of read-only transactions
+// (@Transactional(readOnly = true)) go to a replica within max-lag, everything else to the primary.
+// LazyConnectionDataSourceProxy defers picking a pool until the first statement, by which time the
+// transaction has marked the connection read-only. Reads that populate a cache are not read-only,
+// so a lagging replica cannot put a stale value back after a commit evicts it.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                               @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag,
+                                               @Value("${app.datasource.replicas.check-interval:2s}") Duration checkInterval) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(replica);
+        }
+        return new ReplicaLagMonitor(pools, maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primaryDataSource);
+        routing.setReadOnlyDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return pick().getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return pick().getConnection(username, password);
+            }
+
+            // Lag-aware fallback: with no replica in rotation, reads go to the primary
+            private DataSource pick() {
+                DataSource replica = replicaLagMonitor.nextHealthyReplica();
+                return replica != null ? replica : primaryDataSource;
+            }
+        });
+        return routing;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.LibraryManagementSystem.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Assigns each request a correlation id (X-Request-Id, kept in the MDC as requestId) and writes
+// one structured access log line per request to the "access" logger. Errors and slow requests
+// are always logged; the rest are sampled at app.logging.access.sample-rate.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Value("${app.logging.access.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${app.logging.access.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses finish on another thread; log when they complete
+                String asyncRequestId = requestId;
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        logRequest(request, response, asyncRequestId, startedAt);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                logRequest(request, response, requestId, startedAt);
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, String requestId, long startedAt) {
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+        int status = response.getStatus();
+        boolean always = status >= 500 || durationMs >= slowThreshold.toMillis();
+        if (!accessLog.isInfoEnabled() || (!always && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        accessLog.atInfo()
+                .addKeyValue("request.id", requestId)
+                .addKeyValue("http.method", request.getMethod())
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.status", status)
+                .addKeyValue("duration.ms", durationMs)
+                .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMs);
+    }
+}
@@ -4,6 +4,7 @@ import com.example.LibraryManagementSystem.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -43,11 +44,23 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints - no authentication required
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Prometheus scrape; actuator only listens on the internal management port
+                        .requestMatchers("/actuator/prometheus").permitAll()
+
+                        // Operational endpoints (metrics, caches)
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
+
+                        // Own loan summary; UserController checks the caller is the owner unless ADMIN
+                        .requestMatchers(HttpMethod.GET, "/api/users/*/loans").hasAnyAuthority("ADMIN", "TEACHER", "STUDENT")
 
                         // Admin only endpoints
                         .requestMatchers("/api/users/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/stats").hasAuthority("ADMIN")
 
                         // Book endpoints - different access levels
+                        .requestMatchers(HttpMethod.POST, "/api/books/bulk").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/reactive/books", "/api/reactive/books/**").hasAnyAuthority("ADMIN", "TEACHER", "STUDENT")
                         .requestMatchers("GET", "/api/books/**").hasAnyAuthority("ADMIN", "TEACHER", "STUDENT")
                         .requestMatchers("POST", "/api/books").hasAnyAuthority("ADMIN", "TEACHER")
                         .requestMatchers("DELETE", "/api/books/**").hasAuthority("ADMIN")
@@ -55,7 +68,10 @@ public class SecurityConfig {
                         // Transaction endpoints
                         .requestMatchers("/api/transactions/borrow").hasAnyAuthority("STUDENT", "TEACHER")
                         .requestMatchers("/api/transactions/return").hasAnyAuthority("STUDENT", "TEACHER")
-                        .requestMatchers("GET", "/api/transactions").hasAnyAuthority("ADMIN", "TEACHER")
+                        .requestMatchers("GET", "/api/transactions", "/api/transactions/**").hasAnyAuthority("ADMIN", "TEACHER")
+
+                        // Hold queue
+                        .requestMatchers("/api/holds", "/api/holds/**").hasAnyAuthority("ADMIN", "TEACHER", "STUDENT")
 
                         // Student/Teacher profile endpoints
                         .requestMatchers("/api/students/**").hasAnyAuthority("ADMIN", "STUDENT")
@@ -0,0 +1,32 @@
+package com.example.LibraryManagementSystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Logs which request threading mode is active. spring.threads.virtual.enabled is silently
+// ignored below Java 21, so that case is called out explicitly.
+@Component
+@Slf4j
+public class ThreadingModeReporter {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        boolean virtualThreads = virtualThreadsRequested && javaVersion >= 21;
+
+        if (virtualThreadsRequested && !virtualThreads) {
+            log.warn("Virtual threads requested but running on Java {}; using platform threads", javaVersion);
+        }
+        log.info("Request threads: {} (Java {}), database pool size: {}",
+                virtualThreads ? "virtual" : "platform", javaVersion, poolSize);
+    }
+}
@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -17,18 +19,19 @@ public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
 
+    // Completes asynchronously once the password check finishes on the hashing pool
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponseDto> login(@Valid @RequestBody LoginRequestDto loginRequest) {
+    public CompletableFuture<ResponseEntity<AuthenticationResponseDto>> login(@Valid @RequestBody LoginRequestDto loginRequest) {
         log.info("Login request received for email: {}", loginRequest.getEmail());
 
-        AuthenticationResponseDto response = authenticationService.login(loginRequest);
-
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        }
-        else {
-            return ResponseEntity.badRequest().body(response);
-        }
+        return authenticationService.login(loginRequest).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            }
+            else {
+                return ResponseEntity.badRequest().body(response);
+            }
+        });
     }
 
     @GetMapping("/test")
@@ -1,15 +1,26 @@
 package com.example.LibraryManagementSystem.controller;
 
 import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.dto.BulkImportResultDto;
 import com.example.LibraryManagementSystem.dto.CreateBookDto;
 import com.example.LibraryManagementSystem.entity.LibraryBook;
+import com.example.LibraryManagementSystem.service.BookImportService;
 import com.example.LibraryManagementSystem.service.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +31,8 @@ import java.util.Map;
 
 public class BookController {
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<BookDto> createBook(@Valid @RequestBody CreateBookDto createBookDto) {
@@ -27,6 +40,16 @@ public class BookController {
         return ResponseEntity.ok(savedBook);
     }
 
+    // Bulk import from a streamed CSV (with header row) or NDJSON upload
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                           InputStream body) throws IOException {
+        BulkImportResultDto result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? bookImportService.importNdjson(body)
+                : bookImportService.importCsv(body);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookDto> getBookById(@PathVariable Long id) {
         return bookService.findById(id)
@@ -34,9 +57,34 @@ public class BookController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Without paging parameters the full list is returned, as before
     @GetMapping
-    public List<BookDto> getAllBooks() {
-        return bookService.findAll();
+    public List<BookDto> getAllBooks(@RequestParam(required = false) Long after,
+                                     @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return bookService.findAll();
+        }
+        return bookService.findPage(after, limit);
+    }
+
+    // Streams every book as newline-delimited JSON without materialising the table
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            bookService.streamAll(book -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(book));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -46,9 +94,10 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<BookDto>> searchBooks(@RequestParam(required = false) String q) {
+    public ResponseEntity<List<BookDto>> searchBooks(@RequestParam(required = false) String q,
+                                                     @RequestParam(required = false) Integer limit) {
         log.info("Search request received with query: {}", q);
-        List<BookDto> books = bookService.searchBooks(q);
+        List<BookDto> books = bookService.searchBooks(q, limit);
         log.info("Returning {} books for search query: {}", books.size(), q);
         return ResponseEntity.ok(books);
     }
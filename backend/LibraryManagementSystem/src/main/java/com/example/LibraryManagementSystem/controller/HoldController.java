@@ -0,0 +1,36 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import com.example.LibraryManagementSystem.service.HoldService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+
+    // Joins the queue for a title with no copy left; the response carries the place in the queue.
+    // Students and teachers only act on their own holds (the principal is their email); ADMIN on anyone's.
+    @PostMapping
+    public ResponseEntity<HoldDto> placeHold(@RequestParam Long userId, @RequestParam Long bookId, Authentication auth) {
+        return ResponseEntity.ok(holdService.placeHold(userId, bookId, auth.getName()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldDto> getHold(@PathVariable Long id, Authentication auth) {
+        return holdService.findById(id, auth.getName())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelHold(@PathVariable Long id, Authentication auth) {
+        holdService.cancelHold(id, auth.getName());
+        return ResponseEntity.noContent().build();
+    }
+}
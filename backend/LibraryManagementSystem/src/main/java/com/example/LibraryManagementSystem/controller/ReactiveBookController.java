@@ -0,0 +1,72 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+// Non-blocking read variant of the catalogue endpoints, same DTOs and services as BookController.
+// Spring MVC subscribes to the returned Mono/Flux asynchronously, so no Tomcat thread is held while the
+// JPA call runs on the jdbc scheduler (ReactiveConfig). NDJSON streams are demand-driven: the next page
+// is only loaded once the client has consumed the previous one.
+@RestController
+@RequestMapping("/api/reactive/books")
+@RequiredArgsConstructor
+public class ReactiveBookController {
+    private static final int STREAM_PAGE_SIZE = 200;
+
+    private final BookService bookService;
+    private final Scheduler jdbcScheduler;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BookDto>> getBookById(@PathVariable Long id) {
+        return blocking(() -> bookService.findById(id))
+                .map(book -> book.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build()));
+    }
+
+    // Whole catalogue (or everything after the given id), one book per line
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks(@RequestParam(required = false) Long after) {
+        return page(after)
+                .expand(books -> books.size() < STREAM_PAGE_SIZE
+                        ? Mono.empty()
+                        : page(books.get(books.size() - 1).getId()))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> searchBooks(@RequestParam(required = false) String q,
+                                     @RequestParam(required = false) Integer limit) {
+        return blocking(() -> bookService.searchBooks(q, limit))
+                .flatMapIterable(Function.identity());
+    }
+
+    @GetMapping("/count")
+    public Mono<Map<String, Long>> getBooksCount() {
+        return blocking(bookService::countBooks)
+                .map(total -> Map.of("totalBooks", total));
+    }
+
+    private Mono<List<BookDto>> page(Long afterId) {
+        return blocking(() -> bookService.findPage(afterId, STREAM_PAGE_SIZE));
+    }
+
+    // JPA is blocking; run it off the request thread, at most one call per pooled connection
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+}
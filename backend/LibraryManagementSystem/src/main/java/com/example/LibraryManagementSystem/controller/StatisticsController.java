@@ -0,0 +1,21 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+import com.example.LibraryManagementSystem.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatisticsController {
+    private final StatisticsService statisticsService;
+
+    @GetMapping
+    public ResponseEntity<StatisticsDto> getStatistics() {
+        return ResponseEntity.ok(statisticsService.snapshot());
+    }
+}
@@ -2,10 +2,17 @@ package com.example.LibraryManagementSystem.controller;
 
 import com.example.LibraryManagementSystem.dto.TransactionDto;
 import com.example.LibraryManagementSystem.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -14,6 +21,7 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/borrow")
     public ResponseEntity<TransactionDto> borrowBook(@RequestParam Long userId, @RequestParam Long bookId) {
@@ -27,8 +35,33 @@ public class TransactionController {
         return ResponseEntity.ok(transaction);
     }
 
+    // Without paging parameters the full list is returned, as before
     @GetMapping
-    public List<TransactionDto> getAllTransactions() {
-        return transactionService.findAll();
+    public List<TransactionDto> getAllTransactions(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            return transactionService.findAll();
+        }
+        return transactionService.findPage(after, limit);
+    }
+
+    // Streams every transaction as newline-delimited JSON without materialising the table
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTransactions() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            transactionService.streamAll(transaction -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(transaction));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -2,14 +2,24 @@ package com.example.LibraryManagementSystem.controller;
 
 import com.example.LibraryManagementSystem.dto.CreateUserDto;
 import com.example.LibraryManagementSystem.dto.UserDto;
+import com.example.LibraryManagementSystem.dto.UserLoansDto;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
+import com.example.LibraryManagementSystem.service.TransactionService;
+import com.example.LibraryManagementSystem.service.UserProvisioningService;
 import com.example.LibraryManagementSystem.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -17,6 +27,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<UserDto> createUser(@Valid @RequestBody CreateUserDto createUserDto) {
@@ -24,6 +37,23 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    // Bulk enrolment: NDJSON of CreateUserDto in, one NDJSON result per record streamed back
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> provisionUsers(InputStream body) {
+        StreamingResponseBody report = out -> userProvisioningService.provision(body, result -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(report);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
         return userService.findById(id)
@@ -31,6 +61,25 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Open loans, overdue count and accrued fines of one user. Students and teachers see only their own
+    // (the principal is their email); ADMIN sees anyone's.
+    @GetMapping("/{id}/loans")
+    public ResponseEntity<UserLoansDto> getUserLoans(@PathVariable Long id, Authentication auth) {
+        boolean admin = auth.getAuthorities().stream().anyMatch(a -> "ADMIN".equals(a.getAuthority()));
+        if (!admin && userService.findByEmail(auth.getName()).map(UserDto::getId).filter(id::equals).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return transactionService.getUserLoans(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Records a payment against the fines charged at return; answers the unpaid balance left
+    @PostMapping("/{id}/fines/payments")
+    public ResponseEntity<Double> recordFinePayment(@PathVariable Long id, @RequestParam double amount) {
+        return ResponseEntity.ok(transactionService.recordFinePayment(id, amount));
+    }
+
     @GetMapping
     public List<UserDto> getAllUsers() {
         return userService.findAll();
@@ -0,0 +1,19 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveLoanDto {
+    private Long transactionId;
+    private Long bookId;
+    private String bookTitle;
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private Double fine; // accrued so far by the nightly fine job
+}
@@ -7,5 +7,8 @@ public class BookDto {
     private Long id;
     private String title;
     private String author;
+    private String category;
     private Boolean available;
+    private Integer totalCopies;
+    private Integer availableCopies;
 }
@@ -0,0 +1,17 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkImportResultDto {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<RowErrorDto> errors; // capped, see failed for the full count
+    private long durationMs;
+    private double rowsPerSecond;
+}
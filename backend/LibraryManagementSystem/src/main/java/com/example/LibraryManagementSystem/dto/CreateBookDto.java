@@ -1,5 +1,7 @@
 package com.example.LibraryManagementSystem.dto;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -16,4 +18,8 @@ public class CreateBookDto {
 
     @Size(max = 50, message = "Category must not exceed 50 characters")
     private String category;
+
+    @Min(value = 1, message = "Copies must be at least 1")
+    @Max(value = 1000, message = "Copies must not exceed 1000")
+    private Integer copies; // defaults to 1
 }
@@ -0,0 +1,16 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class FineAccrualResultDto {
+    private LocalDate asOf;
+    private long rowsUpdated;
+    private int chunks;
+    private long durationMs;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class HoldDto {
+    private Long id;
+    private Long userId;
+    private Long bookId;
+    private String status;
+    private LocalDateTime placedAt;
+    private LocalDateTime expiresAt;
+    private Long position; // place in the queue while WAITING, otherwise null
+}
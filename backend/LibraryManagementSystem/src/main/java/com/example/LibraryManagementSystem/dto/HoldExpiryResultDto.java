@@ -0,0 +1,12 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HoldExpiryResultDto {
+    private long expiredWaiting;
+    private long expiredReady; // their copies went to the next hold or back on the shelf
+    private long durationMs;
+}
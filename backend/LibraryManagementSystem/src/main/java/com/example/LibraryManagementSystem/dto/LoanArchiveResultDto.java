@@ -0,0 +1,16 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class LoanArchiveResultDto {
+    private LocalDate returnedBefore;
+    private long rowsArchived;
+    private int batches;
+    private long durationMs;
+    private double rowsPerSecond;
+}
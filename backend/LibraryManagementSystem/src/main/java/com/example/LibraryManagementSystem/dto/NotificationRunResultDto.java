@@ -0,0 +1,17 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class NotificationRunResultDto {
+    private LocalDate asOf;
+    private long loans;
+    private long noticesSent;
+    private long noticesFailed;
+    private long durationMs;
+    private double noticesPerSecond;
+}
@@ -0,0 +1,21 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueLoanDto {
+    private Long transactionId;
+    private Long userId;
+    private String userEmail;
+    private String userName;
+    private Long bookId;
+    private String bookTitle;
+    private LocalDate dueDate;
+    private Double fine;
+}
@@ -0,0 +1,18 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One message per borrower, covering all of their due or overdue loans
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OverdueNoticeDto {
+    private Long userId;
+    private String email;
+    private String name;
+    private List<OverdueLoanDto> loans;
+}
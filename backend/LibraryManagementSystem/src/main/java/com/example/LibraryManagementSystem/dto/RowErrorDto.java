@@ -0,0 +1,13 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RowErrorDto {
+    private long row; // 1-based data row, header excluded
+    private String message;
+}
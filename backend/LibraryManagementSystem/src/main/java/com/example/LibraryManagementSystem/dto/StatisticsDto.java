@@ -0,0 +1,18 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class StatisticsDto {
+    private long books;
+    private long copies;
+    private long availableCopies;
+    private long users;
+    private Map<String, Long> usersByRole;
+    private long activeLoans;
+    private long overdueLoans;
+}
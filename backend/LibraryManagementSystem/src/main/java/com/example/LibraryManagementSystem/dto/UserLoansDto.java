@@ -0,0 +1,17 @@
+package com.example.LibraryManagementSystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+// What a user has out right now: open loans (soonest due first), how many are overdue,
+// and the fines outstanding (unpaid fines from returns plus those accrued on open loans)
+@Data
+@Builder
+public class UserLoansDto {
+    private Long userId;
+    private List<ActiveLoanDto> activeLoans;
+    private long overdueCount;
+    private double outstandingFines;
+}
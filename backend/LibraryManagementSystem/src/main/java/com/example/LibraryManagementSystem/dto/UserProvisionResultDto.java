@@ -0,0 +1,26 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserProvisionResultDto {
+    private long row; // 1-based line of the upload
+    private String email;
+    private String status; // CREATED or FAILED
+    private Long userId;
+    private String message;
+
+    public static UserProvisionResultDto created(long row, String email, Long userId) {
+        return new UserProvisionResultDto(row, email, "CREATED", userId, null);
+    }
+
+    public static UserProvisionResultDto failed(long row, String email, String message) {
+        return new UserProvisionResultDto(row, email, "FAILED", null, message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.LibraryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+// A returned loan moved out of library_transaction by the archive job (LoanArchiveServiceImpl).
+// Rows keep their original id, so the two tables never overlap and merge back in id order.
+// The database cascades user and book deletes, as the archive is not mapped on either side.
+@Entity
+@Table(name = "library_transaction_archive" , indexes = {
+        @Index(name = "idx_transaction_archive_user", columnList = "user_id"),
+        @Index(name = "idx_transaction_archive_book", columnList = "book_id")
+})
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LibraryUser user;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private LibraryBook book;
+
+    @Column(nullable = false)
+    private LocalDate borrowDate;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private LocalDate returnDate;
+
+    private Double fine;
+
+    private LocalDate overdueNotifiedOn;
+}
@@ -30,10 +30,31 @@ public class LibraryBook {
     @Column(nullable=false)
     private String author;
 
+    @Size(max = 50, message = "Category must not exceed 50 characters")
+    @Column(length = 50)
+    private String category;
+
     @Builder.Default
     @Column(nullable = false)
-    private Boolean available = true;
+    private Boolean available = true; // kept in step with availableCopies > 0
+
+    // Holdings: one row per title, copies tracked as counters
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 1")
+    private Integer totalCopies = 1;
+
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 1")
+    private Integer availableCopies = 1;
+
+    // Optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<LibraryTransaction> transactions;
+
+    @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<LibraryHold> holds;
 }
@@ -0,0 +1,50 @@
+package com.example.LibraryManagementSystem.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A place in a title's hold queue. Queue order is the id; the partial indexes in schema.sql
+// cover the waiting queue per title, one active hold per user and title, and expiry.
+@Entity
+@Table(name = "library_hold" , indexes = {
+        @Index(name = "idx_hold_user", columnList = "user_id"),
+        @Index(name = "idx_hold_book", columnList = "book_id")
+})
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class LibraryHold {
+
+    // WAITING -> READY (a copy is set aside) -> FULFILLED (borrowed); EXPIRED or CANCELLED end it early
+    public static final String WAITING = "WAITING";
+    public static final String READY = "READY";
+    public static final String FULFILLED = "FULFILLED";
+    public static final String EXPIRED = "EXPIRED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private LibraryUser user;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id")
+    private LibraryBook book;
+
+    @NotNull
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime placedAt;
+
+    // End of the wait while WAITING, end of the pickup window once READY
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package com.example.LibraryManagementSystem.entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+
+// Materialised counter, split into slots so concurrent updates of the same counter rarely
+// contend on one row. The counter value is the sum over its slots.
+@Entity
+@Table(name = "library_statistic")
+@IdClass(LibraryStatistic.Key.class)
+@Data @NoArgsConstructor @AllArgsConstructor
+public class LibraryStatistic {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false)
+    private Long value;
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String name;
+        private Integer slot;
+    }
+}
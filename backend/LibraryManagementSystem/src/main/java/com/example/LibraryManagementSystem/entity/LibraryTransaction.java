@@ -41,4 +41,7 @@ public class LibraryTransaction {
 
     @DecimalMin(value = "0.0", message = "Fine cannot be negative")
     private Double fine;
+
+    // Last day an overdue notice was delivered for this loan
+    private LocalDate overdueNotifiedOn;
 }
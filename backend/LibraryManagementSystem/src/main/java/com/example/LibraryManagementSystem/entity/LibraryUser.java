@@ -39,6 +39,12 @@ public class LibraryUser {
     @Column(nullable = false)
     private String role; // ADMIN, STUDENT, TEACHER
 
+    // Fines charged at return and not yet paid (fines still accruing on open loans are not in here).
+    // Kept on the user row so the borrow check never reads loan history; existing users start at 0.
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "double precision default 0")
+    private Double finesOwed = 0.0;
+
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private LibraryStudent student;
 
@@ -47,4 +53,7 @@ public class LibraryUser {
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<LibraryTransaction> transactions;
+
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<LibraryHold> holds;
 }
@@ -0,0 +1,24 @@
+package com.example.LibraryManagementSystem.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    // Fast load-shedding response; clients should back off and retry
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleOverloaded(ServiceOverloadedException e) {
+        log.warn("Shedding request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+}
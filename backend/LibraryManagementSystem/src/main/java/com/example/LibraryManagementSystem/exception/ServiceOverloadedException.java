@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.exception;
+
+// Thrown when a bounded worker pool is saturated; surfaced to clients as 503
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.LibraryManagementSystem.repository;
+
+import com.example.LibraryManagementSystem.dto.TransactionDto;
+import com.example.LibraryManagementSystem.entity.ArchivedTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    // Moves up to batchSize loans returned before the cutoff into the archive in one statement.
+    // SKIP LOCKED leaves rows locked by a concurrent writer for the next batch, so archiving never waits.
+    @Modifying
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM library_transaction WHERE id IN (" +
+            "SELECT id FROM library_transaction WHERE return_date < :cutoff " +
+            "LIMIT :batchSize FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, book_id, borrow_date, due_date, return_date, fine, overdue_notified_on) " +
+            "INSERT INTO library_transaction_archive " +
+            "(id, user_id, book_id, borrow_date, due_date, return_date, fine, overdue_notified_on) " +
+            "SELECT id, user_id, book_id, borrow_date, due_date, return_date, fine, overdue_notified_on FROM moved",
+            nativeQuery = true)
+    int archiveReturnedBefore(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+
+    // Same read model as TransactionRepository, so archived rows come back as ordinary transactions
+    String TRANSACTION_DTO = "SELECT new com.example.LibraryManagementSystem.dto.TransactionDto(" +
+            "t.id, t.user.id, t.book.id, t.borrowDate, t.dueDate, t.returnDate, t.fine) FROM ArchivedTransaction t ";
+
+    @Query(TRANSACTION_DTO + "WHERE t.id = :id")
+    Optional<TransactionDto> findDtoById(@Param("id") Long id);
+
+    @Query(TRANSACTION_DTO + "ORDER BY t.id")
+    List<TransactionDto> findAllDtos();
+
+    @Query(TRANSACTION_DTO + "WHERE t.id > :afterId ORDER BY t.id")
+    List<TransactionDto> findDtoPage(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TRANSACTION_DTO + "ORDER BY t.id")
+    Stream<TransactionDto> streamAllDtos();
+}
@@ -1,17 +1,70 @@
 package com.example.LibraryManagementSystem.repository;
 
 import com.example.LibraryManagementSystem.entity.LibraryBook;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<LibraryBook, Long> {
 
-    // Custom query to search for books by title or author
-    @Query("SELECT b FROM LibraryBook b WHERE " +
-            "LOWER(b.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(b.author) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<LibraryBook> searchBooks(@Param("searchTerm") String searchTerm);
+    // Ranked search by title or author, served by the pg_trgm GIN indexes (see schema.sql).
+    // The term must already be lower-cased with LIKE wildcards escaped.
+    // Ranking: title prefix, then word prefix in title or author prefix, then any substring,
+    // ties broken by the shorter matching field (the term covers more of it). similarity() gave
+    // the same order but computed trigrams for every match, which dominated broad terms at 1M books.
+    @Query(value = "SELECT b.* FROM library_book b WHERE " +
+            "LOWER(b.title) LIKE CONCAT('%', :searchTerm, '%') OR " +
+            "LOWER(b.author) LIKE CONCAT('%', :searchTerm, '%') " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(b.title) LIKE CONCAT(:searchTerm, '%') THEN 0 " +
+            "WHEN LOWER(b.title) LIKE CONCAT('% ', :searchTerm, '%') " +
+            "OR LOWER(b.author) LIKE CONCAT(:searchTerm, '%') THEN 1 " +
+            "ELSE 2 END, " +
+            "LEAST(CASE WHEN LOWER(b.title) LIKE CONCAT('%', :searchTerm, '%') THEN LENGTH(b.title) END, " +
+            "CASE WHEN LOWER(b.author) LIKE CONCAT('%', :searchTerm, '%') THEN LENGTH(b.author) END), " +
+            "b.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<LibraryBook> searchBooks(@Param("searchTerm") String searchTerm, @Param("limit") int limit);
+
+    // Conditional decrement: takes one copy only if one is left, returns rows updated
+    @Modifying
+    @Query("UPDATE LibraryBook b SET b.availableCopies = b.availableCopies - 1, " +
+            "b.available = CASE WHEN b.availableCopies > 1 THEN true ELSE false END, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = :bookId AND b.availableCopies > 0")
+    int markBorrowed(@Param("bookId") Long bookId);
+
+    // Conditional increment: puts one copy back, never above the number of copies held
+    @Modifying
+    @Query("UPDATE LibraryBook b SET b.availableCopies = b.availableCopies + 1, b.available = true, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = :bookId AND b.availableCopies < b.totalCopies")
+    int markReturned(@Param("bookId") Long bookId);
+
+    // Row lock on the title, returning its free copies. Hold placement and the return hand-off both take it,
+    // so a returned copy cannot go back on the shelf while a hold on that title is being placed.
+    @Query(value = "SELECT available_copies FROM library_book WHERE id = :bookId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockAvailableCopies(@Param("bookId") Long bookId);
+
+    // The same title lock for several titles at once, taken in id order so two callers cannot deadlock
+    @Query(value = "SELECT id FROM library_book WHERE id IN (:bookIds) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockTitles(@Param("bookIds") Collection<Long> bookIds);
+
+    // Keyset page: next books after the given id, walking the primary key index
+    List<LibraryBook> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Cursor-backed stream for exports, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM LibraryBook b ORDER BY b.id")
+    Stream<LibraryBook> streamAll();
 }
@@ -0,0 +1,75 @@
+package com.example.LibraryManagementSystem.repository;
+
+import com.example.LibraryManagementSystem.entity.LibraryHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface HoldRepository extends JpaRepository<LibraryHold, Long> {
+
+    // Head of a title's queue: the first entry of the partial index idx_hold_queue, so no scan.
+    // Callers hold the title lock (BookRepository.lockAvailableCopies), as does everything else that changes
+    // the queue, so the head cannot be locked elsewhere and is never skipped in favour of the next hold.
+    @Query(value = "SELECT * FROM library_hold WHERE book_id = :bookId AND status = 'WAITING' " +
+            "ORDER BY id LIMIT 1 FOR UPDATE", nativeQuery = true)
+    Optional<LibraryHold> findQueueHeadForUpdate(@Param("bookId") Long bookId);
+
+    // Served by the partial unique index uq_hold_active
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LibraryHold h WHERE h.user.id = :userId AND h.book.id = :bookId " +
+            "AND h.status = 'READY' AND h.expiresAt > :now")
+    Optional<LibraryHold> findReadyHoldForUpdate(@Param("userId") Long userId, @Param("bookId") Long bookId,
+                                                 @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(h) > 0 FROM LibraryHold h WHERE h.user.id = :userId AND h.book.id = :bookId " +
+            "AND h.status IN ('WAITING', 'READY')")
+    boolean existsActiveHold(@Param("userId") Long userId, @Param("bookId") Long bookId);
+
+    // Title of a hold, read without loading the hold, so the title can be locked before the hold is
+    @Query("SELECT h.book.id FROM LibraryHold h WHERE h.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LibraryHold h WHERE h.id = :id")
+    Optional<LibraryHold> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT h.book.id FROM LibraryHold h WHERE h.user.id = :userId AND h.status IN ('WAITING', 'READY')")
+    List<Long> findActiveHoldBookIdsByUser(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LibraryHold h WHERE h.user.id = :userId AND h.status IN ('WAITING', 'READY')")
+    List<LibraryHold> findActiveHoldsByUserForUpdate(@Param("userId") Long userId);
+
+    // 1-based place in the queue: an index-only count over idx_hold_queue up to this hold
+    @Query("SELECT COUNT(h) FROM LibraryHold h WHERE h.book.id = :bookId AND h.status = 'WAITING' AND h.id <= :holdId")
+    long countQueuePosition(@Param("bookId") Long bookId, @Param("holdId") Long holdId);
+
+    // Titles with waiting holds past their wait, a batch at a time
+    @Query("SELECT DISTINCT h.book.id FROM LibraryHold h WHERE h.status = 'WAITING' AND h.expiresAt < :now " +
+            "ORDER BY h.book.id")
+    List<Long> findBookIdsWithExpiredWaitingHolds(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("UPDATE LibraryHold h SET h.status = 'EXPIRED' " +
+            "WHERE h.status = 'WAITING' AND h.expiresAt < :now AND h.book.id IN :bookIds")
+    int expireWaitingHolds(@Param("now") LocalDateTime now, @Param("bookIds") Collection<Long> bookIds);
+
+    // Ready holds whose pickup window has passed, [holdId, bookId]; each one still has a copy set aside
+    @Query(value = "SELECT id, book_id FROM library_hold WHERE status = 'READY' AND expires_at < :now " +
+            "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findExpiredReadyHolds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Locked after their titles; holds claimed or cancelled since they were listed drop out here
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM LibraryHold h WHERE h.id IN :ids AND h.status = 'READY' AND h.expiresAt < :now ORDER BY h.id")
+    List<LibraryHold> findExpiredReadyHoldsForUpdate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
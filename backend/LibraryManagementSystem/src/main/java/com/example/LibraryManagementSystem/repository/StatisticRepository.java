@@ -0,0 +1,45 @@
+package com.example.LibraryManagementSystem.repository;
+
+import com.example.LibraryManagementSystem.entity.LibraryStatistic;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface StatisticRepository extends JpaRepository<LibraryStatistic, LibraryStatistic.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO library_statistic (name, slot, value) VALUES (:name, :slot, :delta) " +
+            "ON CONFLICT (name, slot) DO UPDATE SET value = library_statistic.value + EXCLUDED.value",
+            nativeQuery = true)
+    void add(@Param("name") String name, @Param("slot") int slot, @Param("delta") long delta);
+
+    @Query("SELECT COALESCE(SUM(s.value), 0) FROM LibraryStatistic s WHERE s.name = :name")
+    long total(@Param("name") String name);
+
+    // Sum over a family of counters, e.g. every users.<role>
+    @Query("SELECT COALESCE(SUM(s.value), 0) FROM LibraryStatistic s WHERE s.name LIKE CONCAT(:prefix, '%')")
+    long totalWithPrefix(@Param("prefix") String prefix);
+
+    // [name, total] per counter
+    @Query("SELECT s.name, SUM(s.value) FROM LibraryStatistic s GROUP BY s.name")
+    List<Object[]> totals();
+
+    // [name, value] per counter, computed from the source tables
+    @Query(value = "SELECT 'books.total', COUNT(*) FROM library_book " +
+            "UNION ALL SELECT 'copies.total', COALESCE(SUM(total_copies), 0) FROM library_book " +
+            "UNION ALL SELECT 'copies.available', COALESCE(SUM(available_copies), 0) FROM library_book " +
+            "UNION ALL SELECT 'users.' || role, COUNT(*) FROM library_user GROUP BY role " +
+            "UNION ALL SELECT 'loans.active', COUNT(*) FROM library_transaction WHERE return_date IS NULL",
+            nativeQuery = true)
+    List<Object[]> recount();
+
+    // Not a counter: loans turn overdue by the calendar, not by an event that could update one.
+    // Index-only scan of idx_transaction_open_loan_due, proportional to the overdue loans only.
+    @Query(value = "SELECT COUNT(*) FROM library_transaction WHERE return_date IS NULL AND due_date < :today",
+            nativeQuery = true)
+    long countOverdueLoans(@Param("today") LocalDate today);
+}
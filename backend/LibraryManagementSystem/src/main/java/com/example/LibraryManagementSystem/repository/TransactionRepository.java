@@ -1,27 +1,131 @@
 package com.example.LibraryManagementSystem.repository;
 
+import com.example.LibraryManagementSystem.dto.OverdueLoanDto;
+import com.example.LibraryManagementSystem.dto.TransactionDto;
 import com.example.LibraryManagementSystem.entity.LibraryTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<LibraryTransaction, Long> {
 
+    // Served by the partial open-loan index idx_transaction_open_loan (see schema.sql)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT t FROM LibraryTransaction t WHERE t.user.id = :userId AND t.book.id = :bookId AND t.returnDate IS NULL")
     Optional<LibraryTransaction> findActiveTransactionByUserAndBook(@Param("userId") Long userId, @Param("bookId") Long bookId);
 
+    @Query("SELECT COUNT(t) > 0 FROM LibraryTransaction t WHERE t.user.id = :userId AND t.book.id = :bookId AND t.returnDate IS NULL")
+    boolean existsOpenLoan(@Param("userId") Long userId, @Param("bookId") Long bookId);
+
+    // Outstanding fines are the user's unpaid balance (LibraryUser.finesOwed: fines charged at return, less
+    // payments) plus the fines accruing on open loans (FineAccrualServiceImpl). Returned and archived loans
+    // are never read. Shared by the borrow check and the loan summary so both report the same amount.
+    String OPEN_LOAN = "t.returnDate IS NULL";
+
+    // Borrower standing for the eligibility check, one row: [open loans, overdue open loans, fines on open loans].
+    // Only open loans are read, through the partial open-loan index; no entities are loaded.
+    @Query("SELECT COUNT(t), COUNT(t) FILTER (WHERE t.dueDate < :today), COALESCE(SUM(t.fine), 0) " +
+            "FROM LibraryTransaction t WHERE t.user.id = :userId AND " + OPEN_LOAN)
+    List<Object[]> findBorrowerStanding(@Param("userId") Long userId, @Param("today") LocalDate today);
+
     @Query("SELECT t FROM LibraryTransaction t WHERE t.user.id = :userId AND t.returnDate IS NULL")
     List<LibraryTransaction> findActiveTransactionsByUser(@Param("userId") Long userId);
 
     @Query("SELECT t FROM LibraryTransaction t WHERE t.book.id = :bookId AND t.returnDate IS NULL")
     List<LibraryTransaction> findActiveTransactionsByBook(@Param("bookId") Long bookId);
 
+    // Open loan counts for the counter adjustments on delete; nothing is loaded
+    @Query("SELECT COUNT(t) FROM LibraryTransaction t WHERE t.user.id = :userId AND " + OPEN_LOAN)
+    long countOpenLoansByUser(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) FROM LibraryTransaction t WHERE t.book.id = :bookId AND " + OPEN_LOAN)
+    long countOpenLoansByBook(@Param("bookId") Long bookId);
+
     @Query("SELECT t FROM LibraryTransaction t WHERE t.returnDate IS NULL")
     List<LibraryTransaction> findAllActiveTransactions();
 
     @Query("SELECT t FROM LibraryTransaction t WHERE t.dueDate < CURRENT_DATE AND t.returnDate IS NULL")
     List<LibraryTransaction> findOverdueTransactions();
+
+    // Open loans of one user with their book titles, plus the overdue count and fine total as window
+    // aggregates, in one round trip. The user row anchors the result, so a user with nothing out still
+    // yields a single row with null loan columns, and an unknown user yields none.
+    // [userId, transactionId, bookId, bookTitle, borrowDate, dueDate, fine, overdueCount, outstandingFines]
+    @Query("SELECT u.id, t.id, b.id, b.title, t.borrowDate, t.dueDate, t.fine, " +
+            "COUNT(t.id) FILTER (WHERE t.dueDate < :today) OVER (), u.finesOwed + COALESCE(SUM(t.fine) OVER (), 0) " +
+            "FROM LibraryUser u " +
+            "LEFT JOIN u.transactions t ON " + OPEN_LOAN + " " +
+            "LEFT JOIN t.book b " +
+            "WHERE u.id = :userId " +
+            "ORDER BY t.dueDate, t.id")
+    List<Object[]> findUserLoanSummary(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // Keyset page of loans due by asOf that have not been notified today, ordered by borrower.
+    // fk() keeps the keyset on library_transaction.user_id so it can use idx_transaction_open_loan_user_id
+    @Query("SELECT new com.example.LibraryManagementSystem.dto.OverdueLoanDto(" +
+            "t.id, t.user.id, t.user.email, t.user.name, t.book.id, t.book.title, t.dueDate, t.fine) " +
+            "FROM LibraryTransaction t " +
+            "WHERE t.returnDate IS NULL AND t.dueDate <= :asOf " +
+            "AND (t.overdueNotifiedOn IS NULL OR t.overdueNotifiedOn < :asOf) " +
+            "AND (fk(t.user), t.id) > (:afterUserId, :afterId) " +
+            "ORDER BY fk(t.user), t.id")
+    List<OverdueLoanDto> findOverdueLoansToNotify(@Param("asOf") LocalDate asOf,
+                                                  @Param("afterUserId") Long afterUserId,
+                                                  @Param("afterId") Long afterId,
+                                                  Limit limit);
+
+    @Modifying
+    @Query("UPDATE LibraryTransaction t SET t.overdueNotifiedOn = :notifiedOn WHERE t.id IN :ids")
+    int markOverdueNotified(@Param("ids") Collection<Long> ids, @Param("notifiedOn") LocalDate notifiedOn);
+
+    // Id bounds of open loans, used to split set-based jobs into ranges
+    @Query("SELECT MIN(t.id) FROM LibraryTransaction t WHERE t.returnDate IS NULL")
+    Long findMinOpenLoanId();
+
+    @Query("SELECT MAX(t.id) FROM LibraryTransaction t WHERE t.returnDate IS NULL")
+    Long findMaxOpenLoanId();
+
+    // Sets the fine on every open overdue loan in (fromId, toId] to days overdue * fine per day.
+    // Rows that already hold that value are left untouched, which makes reruns cheap and idempotent.
+    @Modifying
+    @Query(value = "UPDATE library_transaction " +
+            "SET fine = (CAST(:asOf AS date) - due_date) * :finePerDay " +
+            "WHERE id > :fromId AND id <= :toId " +
+            "AND return_date IS NULL AND due_date < :asOf " +
+            "AND fine IS DISTINCT FROM (CAST(:asOf AS date) - due_date) * :finePerDay", nativeQuery = true)
+    int accrueOverdueFines(@Param("fromId") long fromId, @Param("toId") long toId,
+                           @Param("asOf") LocalDate asOf, @Param("finePerDay") double finePerDay);
+
+    // Read model projections: user/book ids come straight from the foreign key columns,
+    // so listing transactions never touches the lazy associations
+    String TRANSACTION_DTO = "SELECT new com.example.LibraryManagementSystem.dto.TransactionDto(" +
+            "t.id, t.user.id, t.book.id, t.borrowDate, t.dueDate, t.returnDate, t.fine) FROM LibraryTransaction t ";
+
+    @Query(TRANSACTION_DTO + "WHERE t.id = :id")
+    Optional<TransactionDto> findDtoById(@Param("id") Long id);
+
+    @Query(TRANSACTION_DTO + "ORDER BY t.id")
+    List<TransactionDto> findAllDtos();
+
+    // Keyset page: next transactions after the given id, walking the primary key index
+    @Query(TRANSACTION_DTO + "WHERE t.id > :afterId ORDER BY t.id")
+    List<TransactionDto> findDtoPage(@Param("afterId") Long afterId, Limit limit);
+
+    // Cursor-backed stream for exports, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TRANSACTION_DTO + "ORDER BY t.id")
+    Stream<TransactionDto> streamAllDtos();
 }
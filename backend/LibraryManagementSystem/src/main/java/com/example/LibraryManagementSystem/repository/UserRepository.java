@@ -1,10 +1,25 @@
 package com.example.LibraryManagementSystem.repository;
 
 import com.example.LibraryManagementSystem.entity.LibraryUser;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<LibraryUser, Long> {
     Optional<LibraryUser> findByEmail(String email);
+
+    // Locks the borrower row, so one user's concurrent borrows are checked against the loan limit one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM LibraryUser u WHERE u.id = :id")
+    Optional<LibraryUser> findByIdForUpdate(@Param("id") Long id);
+
+    // Charges a returned loan's fine to the borrower's unpaid balance
+    @Modifying
+    @Query("UPDATE LibraryUser u SET u.finesOwed = u.finesOwed + :amount WHERE u.id = :id")
+    int addFinesOwed(@Param("id") Long id, @Param("amount") double amount);
 }
@@ -1,6 +1,7 @@
 package com.example.LibraryManagementSystem.security;
 
 import com.example.LibraryManagementSystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +25,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
+    // Streaming and async endpoints are re-dispatched after the handler returns;
+    // authenticate that dispatch too, otherwise it is rejected once the response is written
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -31,14 +39,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String requestTokenHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
         //token will come with the prefix Bearer token and "Bearer" will be removed here
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
 
+            // Parsed and verified once per request; everything below reads from these claims
             try {
-                username = jwtUtil.getUsernameFromToken(jwtToken);
+                claims = jwtUtil.getAllClaimsFromToken(jwtToken);
+                username = claims.getSubject();
             } catch (Exception e) {
                 log.error("Unable to get JWT token or token is expired");
             }
@@ -48,11 +58,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
             // Validate token
-            if (jwtUtil.validateToken(jwtToken, username)) {
+            if (!jwtUtil.isTokenExpired(claims)) {
 
                 // Get user authority from token
-                String authority = jwtUtil.getAuthorityFromToken(jwtToken);
-                Long userId = jwtUtil.getUserIdFromToken(jwtToken);
+                String authority = claims.get("authority", String.class);
 
                 // Create authentication token with authority (not role)
                 UsernamePasswordAuthenticationToken authToken =
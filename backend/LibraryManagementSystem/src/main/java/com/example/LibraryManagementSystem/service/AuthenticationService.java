@@ -3,6 +3,8 @@ package com.example.LibraryManagementSystem.service;
 import com.example.LibraryManagementSystem.dto.AuthenticationResponseDto;
 import com.example.LibraryManagementSystem.dto.LoginRequestDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthenticationService {
-    AuthenticationResponseDto login(LoginRequestDto loginRequest);
+    CompletableFuture<AuthenticationResponseDto> login(LoginRequestDto loginRequest);
 }
@@ -4,14 +4,17 @@ import com.example.LibraryManagementSystem.dto.AuthenticationResponseDto;
 import com.example.LibraryManagementSystem.dto.LoginRequestDto;
 import com.example.LibraryManagementSystem.dto.LoginResponseDto;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
+import com.example.LibraryManagementSystem.exception.ServiceOverloadedException;
 import com.example.LibraryManagementSystem.repository.UserRepository;
 import com.example.LibraryManagementSystem.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -19,10 +22,11 @@ import java.util.Optional;
 public class AuthenticationServiceImpl implements AuthenticationService{
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     @Override
-    public AuthenticationResponseDto login(LoginRequestDto loginRequest) {
+    @Timed(value = "library.service", extraTags = {"operation", "login"}, histogram = true)
+    public CompletableFuture<AuthenticationResponseDto> login(LoginRequestDto loginRequest) {
         try {
             log.info("Login attempt for email: {}", loginRequest.getEmail());
 
@@ -31,42 +35,57 @@ public class AuthenticationServiceImpl implements AuthenticationService{
 
             if (optionalUser.isEmpty()){
                 log.warn("user not found for email: {}", loginRequest.getEmail());
-                return AuthenticationResponseDto.failure("Invalid email or password");
+                return CompletableFuture.completedFuture(AuthenticationResponseDto.failure("Invalid email or password"));
             }
 
             LibraryUser user = optionalUser.get();
 
-            //validate password
-            if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())){
-                log.warn("Invalid password for email: {}", loginRequest.getEmail());
-                return AuthenticationResponseDto.failure("Invalid email or password");
-            }
-
-            //jwt token will be generated here
-            String token = jwtUtil.generateToken(
-                    user.getId(),
-                    user.getEmail(),
-                    user.getName(),
-                    user.getRole()
-            );
-
-            //response will be created here
-            LoginResponseDto loginResponse = LoginResponseDto.builder()
-                    .token(token)
-                    .tokenType("Bearer")
-                    .userid(user.getId())
-                    .name(user.getName())
-                    .email(user.getEmail())
-                    .authority(user.getRole())
-                    .expiresIn(jwtUtil.getTokenValidity())
-                    .build();
-
-            log.info("Login successful for user: {} with role: {}", user.getEmail(), user.getRole());
-            return AuthenticationResponseDto.success(loginResponse);
+            //validate password on the hashing pool, the request thread is released meanwhile
+            return passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())
+                    .thenApply(matches -> {
+                        if (!matches) {
+                            log.warn("Invalid password for email: {}", loginRequest.getEmail());
+                            return AuthenticationResponseDto.failure("Invalid email or password");
+                        }
+                        return toLoginSuccess(user);
+                    })
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        // Overload must reach the client as a 503, not as a failed login
+                        if (cause instanceof ServiceOverloadedException overloaded) {
+                            throw overloaded;
+                        }
+                        log.error("Login failed for email: {} with error: {}", loginRequest.getEmail(), cause.getMessage());
+                        return AuthenticationResponseDto.failure("Login failed due to server error");
+                    });
 
         } catch (Exception e) {
             log.error("Login failed for email: {} with error: {}", loginRequest.getEmail(), e.getMessage());
-            return AuthenticationResponseDto.failure("Login failed due to server error");
+            return CompletableFuture.completedFuture(AuthenticationResponseDto.failure("Login failed due to server error"));
         }
     }
+
+    private AuthenticationResponseDto toLoginSuccess(LibraryUser user) {
+        //jwt token will be generated here
+        String token = jwtUtil.generateToken(
+                user.getId(),
+                user.getEmail(),
+                user.getName(),
+                user.getRole()
+        );
+
+        //response will be created here
+        LoginResponseDto loginResponse = LoginResponseDto.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .userid(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .authority(user.getRole())
+                .expiresIn(jwtUtil.getTokenValidity())
+                .build();
+
+        log.info("Login successful for user: {} with role: {}", user.getEmail(), user.getRole());
+        return AuthenticationResponseDto.success(loginResponse);
+    }
 }
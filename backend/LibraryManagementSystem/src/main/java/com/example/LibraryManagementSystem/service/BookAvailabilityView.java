@@ -0,0 +1,81 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// In-memory view of titles whose copies are all on loan.
+// Borrow attempts on these hot titles are rejected without touching the database.
+// Entries are per-key (no global lock) and short-lived; the database stays authoritative.
+@Component
+public class BookAvailabilityView {
+
+    // Committed returns per title, striped; a collision only costs a skipped mark
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, Boolean> soldOut;
+    private final AtomicLongArray returns = new AtomicLongArray(STRIPES);
+
+    public BookAvailabilityView(@Value("${app.availability.sold-out-ttl:5s}") Duration ttl,
+                                @Value("${app.availability.max-size:10000}") long maxSize) {
+        this.soldOut = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean isSoldOut(Long bookId) {
+        return soldOut.getIfPresent(bookId) != null;
+    }
+
+    // Read before the borrower's conditional decrement and handed back to markSoldOut
+    public long returnsSeen(Long bookId) {
+        return returns.get(stripe(bookId));
+    }
+
+    // A borrower found no copy left. A return that committed since returnsSeen may already have
+    // cleared the entry, so the mark is only made, and only kept, while no return has come in.
+    public void markSoldOut(Long bookId, long returnsSeen) {
+        if (returns.get(stripe(bookId)) != returnsSeen) {
+            return;
+        }
+        soldOut.put(bookId, Boolean.TRUE);
+        if (returns.get(stripe(bookId)) != returnsSeen) {
+            soldOut.invalidate(bookId);
+        }
+    }
+
+    // A copy came back: once the return is committed, count it and clear the entry.
+    // Counting first means a borrower that saw no copy before this commit cannot re-mark the title.
+    public void copyReturned(Long bookId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    returnCommitted(bookId);
+                }
+            });
+        } else {
+            returnCommitted(bookId);
+        }
+    }
+
+    public void invalidate(Long bookId) {
+        soldOut.invalidate(bookId);
+    }
+
+    private void returnCommitted(Long bookId) {
+        returns.incrementAndGet(stripe(bookId));
+        soldOut.invalidate(bookId);
+    }
+
+    private static int stripe(Long bookId) {
+        return Long.hashCode(bookId) & (STRIPES - 1);
+    }
+}
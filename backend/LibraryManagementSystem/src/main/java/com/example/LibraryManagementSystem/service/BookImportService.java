@@ -0,0 +1,11 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.BulkImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BookImportService {
+    BulkImportResultDto importCsv(InputStream input) throws IOException;
+    BulkImportResultDto importNdjson(InputStream input) throws IOException;
+}
@@ -0,0 +1,242 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.CacheConfig;
+import com.example.LibraryManagementSystem.dto.BulkImportResultDto;
+import com.example.LibraryManagementSystem.dto.CreateBookDto;
+import com.example.LibraryManagementSystem.dto.RowErrorDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Streams rows from the upload, validates each one and inserts valid rows in JDBC batches.
+// Plain JDBC is used because IDENTITY ids stop Hibernate from batching inserts.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String INSERT_BOOK =
+            "INSERT INTO library_book (title, author, category, available, version, total_copies, available_copies) " +
+                    "VALUES (?, ?, ?, true, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final StatisticsService statisticsService;
+
+    // CSV with a header row naming the columns (title, author, category, copies), one book per line
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    public BulkImportResultDto importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return new ImportRun().finish();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title") || !columns.containsKey("author")) {
+            throw new IllegalArgumentException("CSV header must contain title and author columns");
+        }
+
+        return importLines(reader, line -> {
+            List<String> values = parseCsvLine(line);
+            CreateBookDto dto = new CreateBookDto();
+            dto.setTitle(column(values, columns.get("title")));
+            dto.setAuthor(column(values, columns.get("author")));
+            dto.setCategory(column(values, columns.get("category")));
+            String copies = column(values, columns.get("copies"));
+            if (copies != null && !copies.isBlank()) {
+                try {
+                    dto.setCopies(Integer.valueOf(copies.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Copies must be a whole number");
+                }
+            }
+            return dto;
+        });
+    }
+
+    // Newline-delimited JSON, one CreateBookDto object per line
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    public BulkImportResultDto importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return importLines(reader, line -> {
+            try {
+                return objectMapper.readValue(line, CreateBookDto.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private BulkImportResultDto importLines(BufferedReader reader, Function<String, CreateBookDto> parser) throws IOException {
+        ImportRun run = new ImportRun();
+        List<CreateBookDto> batch = new ArrayList<>(BATCH_SIZE);
+        List<Long> batchRows = new ArrayList<>(BATCH_SIZE);
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            long row = ++run.totalRows;
+
+            CreateBookDto dto;
+            try {
+                dto = parser.apply(line);
+            } catch (IllegalArgumentException e) {
+                run.fail(row, e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<CreateBookDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                run.fail(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            batch.add(dto);
+            batchRows.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                flush(run, batch, batchRows);
+            }
+        }
+        flush(run, batch, batchRows);
+
+        BulkImportResultDto result = run.finish();
+        log.info("Bulk book import: {} rows, {} imported, {} failed in {} ms ({} rows/sec)",
+                result.getTotalRows(), result.getImported(), result.getFailed(),
+                result.getDurationMs(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    // Each batch commits on its own, so a bad batch does not roll back earlier ones
+    private void flush(ImportRun run, List<CreateBookDto> batch, List<Long> batchRows) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            long copies = batch.stream().mapToLong(dto -> dto.getCopies() == null ? 1 : dto.getCopies()).sum();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_BOOK, batch, batch.size(), (ps, dto) -> {
+                    ps.setString(1, dto.getTitle().trim());
+                    ps.setString(2, dto.getAuthor().trim());
+                    ps.setString(3, dto.getCategory() == null || dto.getCategory().isBlank() ? null : dto.getCategory().trim());
+                    int bookCopies = dto.getCopies() == null ? 1 : dto.getCopies();
+                    ps.setInt(4, bookCopies);
+                    ps.setInt(5, bookCopies);
+                });
+                statisticsService.adjust(Map.of(
+                        StatisticsService.BOOKS, (long) batch.size(),
+                        StatisticsService.COPIES, copies,
+                        StatisticsService.AVAILABLE_COPIES, copies));
+            });
+            run.imported += batch.size();
+        } catch (DataAccessException e) {
+            log.warn("Bulk book import batch failed: {}", e.getMostSpecificCause().getMessage());
+            for (Long row : batchRows) {
+                run.fail(row, "Batch insert failed: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private static String column(List<String> values, Integer index) {
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    // Splits one CSV line, honouring double-quoted fields and "" escapes
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Mutable counters for a single import call
+    private static class ImportRun {
+        private final long startedAt = System.nanoTime();
+        private final List<RowErrorDto> errors = new ArrayList<>();
+        private long totalRows;
+        private long imported;
+        private long failed;
+
+        void fail(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowErrorDto(row, message));
+            }
+        }
+
+        BulkImportResultDto finish() {
+            long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+            return BulkImportResultDto.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .durationMs(durationMs)
+                    .rowsPerSecond(durationMs == 0 ? imported : imported * 1000.0 / durationMs)
+                    .build();
+        }
+    }
+}
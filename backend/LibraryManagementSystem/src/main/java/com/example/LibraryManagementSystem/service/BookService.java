@@ -6,12 +6,15 @@ import com.example.LibraryManagementSystem.entity.LibraryBook;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookService {
     BookDto saveBook(CreateBookDto dto);
     Optional<BookDto> findById(Long id);
     List<BookDto> findAll();
+    List<BookDto> findPage(Long afterId, Integer limit);
+    void streamAll(Consumer<BookDto> consumer);
     void deleteBook(Long id);
-    List<BookDto> searchBooks(String searchTerm);
+    List<BookDto> searchBooks(String searchTerm, Integer limit);
     long countBooks();
 }
@@ -1,56 +1,130 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.dto.BookDto;
 import com.example.LibraryManagementSystem.dto.CreateBookDto;
 import com.example.LibraryManagementSystem.entity.LibraryBook;
 import com.example.LibraryManagementSystem.repository.BookRepository;
-import jakarta.transaction.Transactional;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final BookAvailabilityView availabilityView;
+    private final TransactionRepository transactionRepository;
+    private final StatisticsService statisticsService;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
     public BookDto saveBook(CreateBookDto dto) {
         LibraryBook entity = new LibraryBook();
         entity.setTitle(dto.getTitle());
         entity.setAuthor(dto.getAuthor());
+        entity.setCategory(dto.getCategory());
         // add other fields
+        int copies = dto.getCopies() == null ? 1 : dto.getCopies();
+        entity.setTotalCopies(copies);
+        entity.setAvailableCopies(copies);
         entity.setAvailable(true);
         LibraryBook saved = bookRepository.save(entity);
-        return toBookDto(saved);
+        statisticsService.adjust(Map.of(
+                StatisticsService.BOOKS, 1L,
+                StatisticsService.COPIES, (long) copies,
+                StatisticsService.AVAILABLE_COPIES, (long) copies));
+        return DtoMapper.toBookDto(saved);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", unless = "#result == null")
+    // Not readOnly, so it reads the primary: a replica up to max-lag behind could put back a copy count
+    // older than the commit that just evicted it, and it would be served for the whole cache TTL
+    @Transactional
     public Optional<BookDto> findById(Long id) {
-        return bookRepository.findById(id).map(this::toBookDto);
+        return bookRepository.findById(id).map(DtoMapper::toBookDto);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_LIST)
+    // Primary, like findById
+    @Transactional
     public List<BookDto> findAll() {
         return bookRepository.findAll().stream()
-                .map(this::toBookDto).toList();
+                .map(DtoMapper::toBookDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookDto> findPage(Long afterId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(pageSize))
+                .stream()
+                .map(DtoMapper::toBookDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<BookDto> consumer) {
+        try (Stream<LibraryBook> books = bookRepository.streamAll()) {
+            books.forEach(book -> {
+                consumer.accept(DtoMapper.toBookDto(book));
+                // Detach each row so the persistence context does not grow with the table
+                entityManager.detach(book);
+            });
+        }
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    })
     public void deleteBook(Long id) {
+        bookRepository.findById(id).ifPresent(book -> {
+            // Loans are removed with the book (cascade), so they leave the loan counters too
+            long openLoans = transactionRepository.countOpenLoansByBook(id);
+            statisticsService.adjust(Map.of(
+                    StatisticsService.BOOKS, -1L,
+                    StatisticsService.COPIES, (long) -book.getTotalCopies(),
+                    StatisticsService.AVAILABLE_COPIES, (long) -book.getAvailableCopies(),
+                    StatisticsService.ACTIVE_LOANS, -openLoans));
+        });
         bookRepository.deleteById(id);
+        availabilityView.invalidate(id);
     }
 
     @Override
-    public List<BookDto> searchBooks(String searchTerm) {
+    @Timed(value = "library.service", extraTags = {"operation", "search"}, histogram = true)
+    @Transactional(readOnly = true)
+    public List<BookDto> searchBooks(String searchTerm, Integer limit) {
         log.info("Searching books with term: {}", searchTerm);
 
         // Return empty list if search term is null, empty, or blank
@@ -62,26 +136,24 @@ public class BookServiceImpl implements BookService {
         // Trim the search term to remove leading/trailing spaces
         String trimmedSearchTerm = searchTerm.trim();
 
+        // Lower-case to match the trigram expression indexes, and escape LIKE wildcards in user input
+        String likeTerm = trimmedSearchTerm.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        int resultLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+
         // Perform the search
-        List<LibraryBook> books = bookRepository.searchBooks(trimmedSearchTerm);
+        List<LibraryBook> books = bookRepository.searchBooks(likeTerm, resultLimit);
         log.info("Found {} books matching search term: {}", books.size(), trimmedSearchTerm);
 
         return books.stream()
-                .map(this::toBookDto)
+                .map(DtoMapper::toBookDto)
                 .toList();
     }
 
     @Override
     public long countBooks() {
-        return bookRepository.count();
-    }
-
-    private BookDto toBookDto(LibraryBook book) {
-        BookDto dto = new BookDto();
-        dto.setId(book.getId());
-        dto.setTitle(book.getTitle());
-        dto.setAuthor(book.getAuthor());
-        dto.setAvailable(book.getAvailable());
-        return dto;
+        return statisticsService.get(StatisticsService.BOOKS);
     }
 }
@@ -0,0 +1,48 @@
+package com.example.LibraryManagementSystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Per-role borrowing rules (app.borrowing.* properties). Roles other than TEACHER get the student rules.
+@Component
+public class BorrowingPolicy {
+
+    public record Rule(int maxLoans, int loanDays) {
+    }
+
+    private final Rule studentRule;
+    private final Rule teacherRule;
+    private final boolean blockOnOverdue;
+    private final double maxOutstandingFines;
+
+    public BorrowingPolicy(@Value("${app.borrowing.student.max-loans:5}") int studentMaxLoans,
+                           @Value("${app.borrowing.student.loan-days:14}") int studentLoanDays,
+                           @Value("${app.borrowing.teacher.max-loans:15}") int teacherMaxLoans,
+                           @Value("${app.borrowing.teacher.loan-days:30}") int teacherLoanDays,
+                           @Value("${app.borrowing.block-on-overdue:true}") boolean blockOnOverdue,
+                           @Value("${app.borrowing.max-outstanding-fines:0}") double maxOutstandingFines) {
+        this.studentRule = new Rule(studentMaxLoans, studentLoanDays);
+        this.teacherRule = new Rule(teacherMaxLoans, teacherLoanDays);
+        this.blockOnOverdue = blockOnOverdue;
+        this.maxOutstandingFines = maxOutstandingFines;
+    }
+
+    public Rule ruleFor(String role) {
+        return "TEACHER".equalsIgnoreCase(role) ? teacherRule : studentRule;
+    }
+
+    // Reason the borrower may not take another book, or null if they may
+    public String refusal(String role, long openLoans, long overdueLoans, double outstandingFines) {
+        Rule rule = ruleFor(role);
+        if (openLoans >= rule.maxLoans()) {
+            return "Borrow limit reached: at most " + rule.maxLoans() + " books on loan";
+        }
+        if (blockOnOverdue && overdueLoans > 0) {
+            return "Borrowing blocked: return overdue books first";
+        }
+        if (outstandingFines > maxOutstandingFines) {
+            return "Borrowing blocked: outstanding fines of " + outstandingFines;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Component;
+
+// Catalogue evictions for jobs that change copy counts of many titles in one run (hold expiry), where
+// no single service call has the title as a parameter. Called inside the job's transaction, so the
+// evictions apply after it commits, like those of the annotated service methods.
+@Component
+public class CatalogueCacheEvictor {
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId"),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    })
+    public void evictTitle(Long bookId) {
+    }
+}
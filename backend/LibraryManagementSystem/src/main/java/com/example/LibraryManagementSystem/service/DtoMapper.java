@@ -0,0 +1,37 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.BookDto;
+import com.example.LibraryManagementSystem.dto.TransactionDto;
+import com.example.LibraryManagementSystem.entity.LibraryBook;
+import com.example.LibraryManagementSystem.entity.LibraryTransaction;
+
+// Entity-to-DTO mapping shared by the services; stateless, so the JMH benchmarks call it directly
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    public static BookDto toBookDto(LibraryBook book) {
+        BookDto dto = new BookDto();
+        dto.setId(book.getId());
+        dto.setTitle(book.getTitle());
+        dto.setAuthor(book.getAuthor());
+        dto.setCategory(book.getCategory());
+        dto.setAvailable(book.getAvailable());
+        dto.setTotalCopies(book.getTotalCopies());
+        dto.setAvailableCopies(book.getAvailableCopies());
+        return dto;
+    }
+
+    public static TransactionDto toTransactionDto(LibraryTransaction tx) {
+        TransactionDto dto = new TransactionDto();
+        dto.setId(tx.getId());
+        dto.setUserId(tx.getUser().getId());
+        dto.setBookId(tx.getBook().getId());
+        dto.setBorrowDate(tx.getBorrowDate());
+        dto.setDueDate(tx.getDueDate());
+        dto.setReturnDate(tx.getReturnDate());
+        dto.setFine(tx.getFine());
+        return dto;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.FineAccrualResultDto;
+
+import java.time.LocalDate;
+
+public interface FineAccrualService {
+    FineAccrualResultDto accrueFines(LocalDate asOf);
+}
@@ -0,0 +1,72 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.FineAccrualResultDto;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Keeps fines on open overdue loans current, so liabilities are visible before books come back.
+// Set-based: one UPDATE per id range, each range committed on its own. The UPDATE recomputes the
+// fine from the due date and skips rows already correct, so reruns are idempotent and an
+// interrupted run simply resumes on the next invocation.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FineAccrualServiceImpl implements FineAccrualService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.fines.accrual-chunk-size:50000}")
+    private long chunkSize;
+
+    @Scheduled(cron = "${app.fines.accrual-cron:0 30 1 * * *}")
+    public void scheduledAccrual() {
+        accrueFines(LocalDate.now());
+    }
+
+    @Override
+    public FineAccrualResultDto accrueFines(LocalDate asOf) {
+        long startedAt = System.nanoTime();
+        long rowsUpdated = 0;
+        int chunks = 0;
+
+        Long minId = transactionRepository.findMinOpenLoanId();
+        Long maxId = transactionRepository.findMaxOpenLoanId();
+        if (minId != null) {
+            for (long fromId = minId - 1; fromId < maxId; fromId += chunkSize) {
+                long rangeStart = fromId;
+                Integer updated = transactionTemplate.execute(status ->
+                        transactionRepository.accrueOverdueFines(rangeStart, rangeStart + chunkSize,
+                                asOf, TransactionServiceImpl.FINE_PER_DAY));
+                rowsUpdated += updated == null ? 0 : updated;
+                chunks++;
+            }
+        }
+
+        long durationNanos = System.nanoTime() - startedAt;
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        double rowsPerSecond = durationNanos == 0 ? 0 : rowsUpdated * 1_000_000_000.0 / durationNanos;
+        meterRegistry.timer("fines.accrual").record(durationNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("fines.accrual.rows").increment(rowsUpdated);
+        log.info("Fine accrual as of {}: {} loans updated in {} chunks, {} ms ({} rows/sec)",
+                asOf, rowsUpdated, chunks, durationMs, String.format("%.0f", rowsPerSecond));
+
+        return FineAccrualResultDto.builder()
+                .asOf(asOf)
+                .rowsUpdated(rowsUpdated)
+                .chunks(chunks)
+                .durationMs(durationMs)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+}
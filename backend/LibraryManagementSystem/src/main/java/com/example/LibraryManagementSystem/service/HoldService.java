@@ -0,0 +1,19 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import com.example.LibraryManagementSystem.dto.HoldExpiryResultDto;
+
+import java.util.Optional;
+
+public interface HoldService {
+    // requester is the authenticated user's email: ADMIN may act on anyone's holds, everyone else on their own
+    HoldDto placeHold(Long userId, Long bookId, String requester);
+    Optional<HoldDto> findById(Long id, String requester);
+    HoldDto cancelHold(Long id, String requester);
+    void cancelHoldsOfUser(Long userId);
+    // Borrow path: takes the copy set aside for this user, if any
+    boolean claimReadyHold(Long userId, Long bookId);
+    // Return path: gives the copy to the head of the queue, if anyone is waiting
+    boolean handOffReturnedCopy(Long bookId);
+    HoldExpiryResultDto expireHolds();
+}
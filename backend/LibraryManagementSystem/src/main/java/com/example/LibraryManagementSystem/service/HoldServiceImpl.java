@@ -0,0 +1,266 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.CacheConfig;
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import com.example.LibraryManagementSystem.dto.HoldExpiryResultDto;
+import com.example.LibraryManagementSystem.entity.LibraryHold;
+import com.example.LibraryManagementSystem.entity.LibraryUser;
+import com.example.LibraryManagementSystem.repository.BookRepository;
+import com.example.LibraryManagementSystem.repository.HoldRepository;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import com.example.LibraryManagementSystem.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hold queue per title. A returned copy goes straight to the head of the queue (one index probe,
+// no scan) and is set aside for the pickup window; the holder's next borrow of that title takes it.
+// Everything that changes a title's queue (placement, hand-off, cancel, expiry) locks the title row
+// first and the hold rows after it, so a copy is never shelved while someone is joining the queue and
+// the copy always goes to the hold at the head, even when that hold is being cancelled meanwhile.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldServiceImpl implements HoldService {
+
+    private final HoldRepository holdRepository;
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final BookAvailabilityView availabilityView;
+    private final StatisticsService statisticsService;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogueCacheEvictor catalogueCacheEvictor;
+
+    @Value("${app.holds.max-wait:30d}")
+    private Duration maxWait;
+
+    @Value("${app.holds.pickup-window:3d}")
+    private Duration pickupWindow;
+
+    @Value("${app.holds.expiry-batch-size:500}")
+    private int expiryBatchSize;
+
+    @Override
+    @Transactional
+    public HoldDto placeHold(Long userId, Long bookId, String requester) {
+        LibraryUser caller = checkAccess(userId, requester);
+        LibraryUser user = caller.getId().equals(userId) ? caller : userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        int availableCopies = bookRepository.lockAvailableCopies(bookId)
+                .orElseThrow(() -> new RuntimeException("Book not found"));
+        // Under the title lock, so a borrow of the same title cannot slip in between
+        if (transactionRepository.existsOpenLoan(userId, bookId)) {
+            throw new RuntimeException("Book already on loan to this user");
+        }
+        if (availableCopies > 0) {
+            throw new RuntimeException("Book is available, borrow it instead");
+        }
+        // Race-free under the title lock; uq_hold_active backs it up
+        if (holdRepository.existsActiveHold(userId, bookId)) {
+            throw new RuntimeException("Hold already placed for this book");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LibraryHold hold = holdRepository.save(LibraryHold.builder()
+                .user(user)
+                .book(bookRepository.getReferenceById(bookId))
+                .status(LibraryHold.WAITING)
+                .placedAt(now)
+                .expiresAt(now.plus(maxWait))
+                .build());
+        return toHoldDto(hold, bookId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<HoldDto> findById(Long id, String requester) {
+        return holdRepository.findById(id).map(hold -> {
+            checkAccess(hold.getUser().getId(), requester);
+            return toHoldDto(hold, hold.getBook().getId());
+        });
+    }
+
+    // A cancelled ready hold puts its copy back on the shelf when nobody else is waiting
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#result.bookId"),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    })
+    public HoldDto cancelHold(Long id, String requester) {
+        Long bookId = holdRepository.findBookIdById(id)
+                .orElseThrow(() -> new RuntimeException("Hold not found"));
+        bookRepository.lockAvailableCopies(bookId);
+        LibraryHold hold = holdRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Hold not found"));
+        checkAccess(hold.getUser().getId(), requester);
+        if (!LibraryHold.WAITING.equals(hold.getStatus()) && !LibraryHold.READY.equals(hold.getStatus())) {
+            throw new RuntimeException("Hold is no longer active");
+        }
+        cancel(hold);
+        return toHoldDto(hold, bookId);
+    }
+
+    // Only on user deletion, so every title is evicted rather than looking up which ones changed
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true)
+    })
+    public void cancelHoldsOfUser(Long userId) {
+        List<Long> bookIds = holdRepository.findActiveHoldBookIdsByUser(userId);
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        bookRepository.lockTitles(bookIds);
+        holdRepository.findActiveHoldsByUserForUpdate(userId).forEach(this::cancel);
+    }
+
+    @Override
+    @Transactional
+    public boolean claimReadyHold(Long userId, Long bookId) {
+        return holdRepository.findReadyHoldForUpdate(userId, bookId, LocalDateTime.now())
+                .map(hold -> {
+                    hold.setStatus(LibraryHold.FULFILLED);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public boolean handOffReturnedCopy(Long bookId) {
+        bookRepository.lockAvailableCopies(bookId);
+        return holdRepository.findQueueHeadForUpdate(bookId)
+                .map(head -> {
+                    head.setStatus(LibraryHold.READY);
+                    head.setExpiresAt(LocalDateTime.now().plus(pickupWindow));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Scheduled(cron = "${app.holds.expiry-cron:0 */15 * * * *}")
+    @Override
+    public HoldExpiryResultDto expireHolds() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Waiting holds have no copy attached: one statement per batch of titles, under their title locks.
+        // Batches are counted by candidates, so the loops end once a batch comes back short.
+        AtomicLong expiredWaiting = new AtomicLong();
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> bookIds = holdRepository.findBookIdsWithExpiredWaitingHolds(now, Limit.of(expiryBatchSize));
+                if (!bookIds.isEmpty()) {
+                    bookRepository.lockTitles(bookIds);
+                    expiredWaiting.addAndGet(holdRepository.expireWaitingHolds(now, bookIds));
+                }
+                return bookIds.size();
+            });
+            if (batch == null || batch < expiryBatchSize) {
+                break;
+            }
+        }
+
+        // Ready holds each release a copy; batches of them are committed one at a time
+        AtomicLong expiredReady = new AtomicLong();
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Object[]> candidates = holdRepository.findExpiredReadyHolds(now, expiryBatchSize);
+                if (candidates.isEmpty()) {
+                    return 0;
+                }
+                List<Long> holdIds = new ArrayList<>(candidates.size());
+                Set<Long> bookIds = new HashSet<>();
+                for (Object[] candidate : candidates) {
+                    holdIds.add(((Number) candidate[0]).longValue());
+                    bookIds.add(((Number) candidate[1]).longValue());
+                }
+                bookRepository.lockTitles(bookIds);
+                for (LibraryHold hold : holdRepository.findExpiredReadyHoldsForUpdate(holdIds, now)) {
+                    hold.setStatus(LibraryHold.EXPIRED);
+                    if (releaseCopy(hold.getBook().getId())) {
+                        catalogueCacheEvictor.evictTitle(hold.getBook().getId());
+                    }
+                    expiredReady.incrementAndGet();
+                }
+                return candidates.size();
+            });
+            if (batch == null || batch < expiryBatchSize) {
+                break;
+            }
+        }
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Hold expiry: {} waiting and {} ready holds expired in {} ms", expiredWaiting, expiredReady, durationMs);
+        return HoldExpiryResultDto.builder()
+                .expiredWaiting(expiredWaiting.get())
+                .expiredReady(expiredReady.get())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    // The requesting user, if they are the hold's owner or an ADMIN
+    private LibraryUser checkAccess(Long ownerId, String requester) {
+        LibraryUser caller = userRepository.findByEmail(requester)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!caller.getId().equals(ownerId) && !"ADMIN".equals(caller.getRole())) {
+            throw new RuntimeException("Holds can only be managed by their owner");
+        }
+        return caller;
+    }
+
+    private void cancel(LibraryHold hold) {
+        boolean hadCopy = LibraryHold.READY.equals(hold.getStatus());
+        hold.setStatus(LibraryHold.CANCELLED);
+        if (hadCopy) {
+            releaseCopy(hold.getBook().getId());
+        }
+    }
+
+    // A set-aside copy that was not collected: next in the queue, else back on the shelf.
+    // True if it went back on the shelf, which changes the cached title.
+    private boolean releaseCopy(Long bookId) {
+        if (handOffReturnedCopy(bookId)) {
+            return false;
+        }
+        int copiesReturned = bookRepository.markReturned(bookId);
+        availabilityView.copyReturned(bookId);
+        statisticsService.adjust(Map.of(StatisticsService.AVAILABLE_COPIES, (long) copiesReturned));
+        return true;
+    }
+
+    private HoldDto toHoldDto(LibraryHold hold, Long bookId) {
+        return HoldDto.builder()
+                .id(hold.getId())
+                .userId(hold.getUser().getId())
+                .bookId(bookId)
+                .status(hold.getStatus())
+                .placedAt(hold.getPlacedAt())
+                .expiresAt(hold.getExpiresAt())
+                .position(LibraryHold.WAITING.equals(hold.getStatus())
+                        ? holdRepository.countQueuePosition(bookId, hold.getId())
+                        : null)
+                .build();
+    }
+}
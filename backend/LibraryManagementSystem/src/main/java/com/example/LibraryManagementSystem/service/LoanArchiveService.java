@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.LoanArchiveResultDto;
+
+import java.time.LocalDate;
+
+public interface LoanArchiveService {
+    LoanArchiveResultDto archiveReturnedBefore(LocalDate cutoff);
+}
@@ -0,0 +1,19 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.OverdueNoticeDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Default sender: writes each notice to the "notifications" logger (route it to a file in logging config).
+// Replace by declaring another NotificationSender bean.
+@Component
+@Slf4j(topic = "notifications")
+public class LoggingNotificationSender implements NotificationSender {
+
+    @Override
+    public void send(OverdueNoticeDto notice) {
+        log.info("Overdue notice to {} <{}>: {} loan(s) due or overdue, books {}",
+                notice.getName(), notice.getEmail(), notice.getLoans().size(),
+                notice.getLoans().stream().map(loan -> loan.getBookTitle() + " (due " + loan.getDueDate() + ")").toList());
+    }
+}
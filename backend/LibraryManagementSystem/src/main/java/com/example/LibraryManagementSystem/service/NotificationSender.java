@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.OverdueNoticeDto;
+
+// Delivery channel for borrower notices (email, SMS, ...). Implementations may block;
+// the caller bounds concurrency. Throwing marks the notice as failed so it is retried next run.
+public interface NotificationSender {
+    void send(OverdueNoticeDto notice);
+}
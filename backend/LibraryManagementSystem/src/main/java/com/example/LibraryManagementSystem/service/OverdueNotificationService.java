@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.NotificationRunResultDto;
+
+import java.time.LocalDate;
+
+public interface OverdueNotificationService {
+    NotificationRunResultDto notifyOverdueBorrowers(LocalDate asOf);
+}
@@ -0,0 +1,194 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.NotificationRunResultDto;
+import com.example.LibraryManagementSystem.dto.OverdueLoanDto;
+import com.example.LibraryManagementSystem.dto.OverdueNoticeDto;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Streams due/overdue loans in (user_id, id) keyset order, groups them into one notice per borrower
+// and dispatches through NotificationSender with at most maxConcurrency sends in flight.
+// The reader blocks when that limit is reached (back-pressure). Delivered loans are stamped with
+// overdue_notified_on, so a rerun on the same day skips them. A send still running after send-timeout
+// is counted as failed and its loans stay unstamped, so a hung channel cannot stall the job.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueNotificationServiceImpl implements OverdueNotificationService {
+
+    private final TransactionRepository transactionRepository;
+    private final NotificationSender notificationSender;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService overdueNotificationExecutor;
+
+    @Value("${app.notifications.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.notifications.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${app.notifications.send-timeout:1m}")
+    private Duration sendTimeout;
+
+    @Scheduled(cron = "${app.notifications.overdue-cron:0 0 8 * * *}")
+    public void scheduledRun() {
+        notifyOverdueBorrowers(LocalDate.now());
+    }
+
+    @Override
+    public NotificationRunResultDto notifyOverdueBorrowers(LocalDate asOf) {
+        long startedAt = System.nanoTime();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Queue<Long> delivered = new ConcurrentLinkedQueue<>();
+        // Borrowers whose notice is in flight; whoever removes one (the send or the timeout) accounts for it
+        Set<Long> unfinished = ConcurrentHashMap.newKeySet();
+        long loans = 0;
+
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        boolean stalled = false;
+        long afterUserId = 0;
+        long afterId = 0;
+        List<OverdueLoanDto> pending = new ArrayList<>();
+        while (true) {
+            List<OverdueLoanDto> page = transactionRepository.findOverdueLoansToNotify(
+                    asOf, afterUserId, afterId, Limit.of(pageSize));
+            loans += page.size();
+            pending.addAll(page);
+            boolean lastPage = page.size() < pageSize;
+
+            // Dispatch every complete borrower group; the last group of a full page may
+            // continue on the next page, so it is carried over
+            int groupStart = 0;
+            for (int i = 1; i <= pending.size(); i++) {
+                boolean groupEnds = i == pending.size()
+                        || !pending.get(i).getUserId().equals(pending.get(groupStart).getUserId());
+                if (groupEnds && (i < pending.size() || lastPage)) {
+                    if (!acquire(inFlight, 1)) {
+                        stalled = true;
+                        break;
+                    }
+                    dispatch(toNotice(pending.subList(groupStart, i)), inFlight, unfinished, sent, failed, delivered);
+                    groupStart = i;
+                }
+            }
+            if (stalled) {
+                log.warn("No overdue notice send finished within {}; stopping this run", sendTimeout);
+                break;
+            }
+            pending = new ArrayList<>(pending.subList(groupStart, pending.size()));
+
+            flushDelivered(delivered, asOf);
+            if (lastPage) {
+                break;
+            }
+            OverdueLoanDto last = page.get(page.size() - 1);
+            afterUserId = last.getUserId();
+            afterId = last.getTransactionId();
+        }
+
+        // Wait for the remaining sends
+        if (!stalled && acquire(inFlight, maxConcurrency)) {
+            inFlight.release(maxConcurrency);
+        }
+        // Sends still running are given up on; loans not reached are picked up by the next run too
+        for (Long userId : unfinished) {
+            if (unfinished.remove(userId)) {
+                recordFailure(userId, "no response within " + sendTimeout, failed);
+            }
+        }
+        flushDelivered(delivered, asOf);
+
+        long durationNanos = System.nanoTime() - startedAt;
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        double noticesPerSecond = durationNanos == 0 ? 0 : sent.get() * 1_000_000_000.0 / durationNanos;
+        meterRegistry.timer("notifications.overdue.run").record(durationNanos, TimeUnit.NANOSECONDS);
+        log.info("Overdue notifications as of {}: {} loans, {} notices sent, {} failed in {} ms ({} notices/sec)",
+                asOf, loans, sent.get(), failed.get(), durationMs, String.format("%.0f", noticesPerSecond));
+
+        return NotificationRunResultDto.builder()
+                .asOf(asOf)
+                .loans(loans)
+                .noticesSent(sent.get())
+                .noticesFailed(failed.get())
+                .durationMs(durationMs)
+                .noticesPerSecond(noticesPerSecond)
+                .build();
+    }
+
+    // Takes permits, waiting at most sendTimeout for in-flight sends to finish
+    private boolean acquire(Semaphore inFlight, int permits) {
+        try {
+            return inFlight.tryAcquire(permits, sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // The caller holds a permit for this send
+    private void dispatch(OverdueNoticeDto notice, Semaphore inFlight, Set<Long> unfinished,
+                          AtomicLong sent, AtomicLong failed, Queue<Long> delivered) {
+        unfinished.add(notice.getUserId());
+        overdueNotificationExecutor.execute(() -> {
+            try {
+                notificationSender.send(notice);
+                // Not removed if the run already gave up on this send and counted it as failed
+                if (unfinished.remove(notice.getUserId())) {
+                    notice.getLoans().forEach(loan -> delivered.add(loan.getTransactionId()));
+                    sent.incrementAndGet();
+                    meterRegistry.counter("notifications.overdue", "result", "sent").increment();
+                }
+            } catch (RuntimeException e) {
+                if (unfinished.remove(notice.getUserId())) {
+                    recordFailure(notice.getUserId(), e.getMessage(), failed);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void recordFailure(Long userId, String reason, AtomicLong failed) {
+        failed.incrementAndGet();
+        meterRegistry.counter("notifications.overdue", "result", "failed").increment();
+        log.warn("Overdue notice to user {} failed: {}", userId, reason);
+    }
+
+    private void flushDelivered(Queue<Long> delivered, LocalDate asOf) {
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = delivered.poll()) != null) {
+            ids.add(id);
+        }
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> transactionRepository.markOverdueNotified(ids, asOf));
+        }
+    }
+
+    private OverdueNoticeDto toNotice(List<OverdueLoanDto> loans) {
+        OverdueLoanDto first = loans.get(0);
+        return new OverdueNoticeDto(first.getUserId(), first.getUserEmail(), first.getUserName(), List.copyOf(loans));
+    }
+}
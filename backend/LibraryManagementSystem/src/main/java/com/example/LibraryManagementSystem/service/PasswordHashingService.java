@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService {
+    CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword);
+    String encode(String rawPassword);
+}
@@ -0,0 +1,123 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a dedicated bounded pool so hashing bursts cannot occupy every request thread.
+// When the queue is full, work is rejected immediately and the caller gets a 503.
+@Service
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHashingServiceImpl(BCryptPasswordEncoder passwordEncoder,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.password-hashing.threads:0}") int threads,
+                                      @Value("${app.password-hashing.queue-capacity:200}") int queueCapacity,
+                                      @Value("${app.password-hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+
+        // 0 means one thread per core: BCrypt is CPU-bound
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        meterRegistry.gauge("password.hashing.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount);
+        log.info("Password hashing pool started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        try {
+            return submit("encode", () -> passwordEncoder.encode(rawPassword)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Queue wait and hashing time are recorded separately, so saturation shows up as queue time.
+    // A timed-out task is taken off the queue, and one already dequeued skips the hash, so work
+    // nobody will read never takes a core from the callers still waiting.
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            long startedAt = System.nanoTime();
+            meterRegistry.timer("password.hashing", "operation", operation, "stage", "queue")
+                    .record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(work.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                meterRegistry.timer("password.hashing", "operation", operation, "stage", "hash")
+                        .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("password.hashing.rejected", "operation", operation).increment();
+            return CompletableFuture.failedFuture(
+                    new ServiceOverloadedException("Server is busy, please try again"));
+        }
+        return result
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        executor.remove(task);
+                        meterRegistry.counter("password.hashing.timeouts", "operation", operation).increment();
+                        return CompletableFuture.failedFuture(
+                                new ServiceOverloadedException("Password check timed out, please try again"));
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+
+import java.util.Map;
+
+public interface StatisticsService {
+    String BOOKS = "books.total";
+    String COPIES = "copies.total";
+    String AVAILABLE_COPIES = "copies.available";
+    String USERS_PREFIX = "users.";
+    String ACTIVE_LOANS = "loans.active";
+
+    // Applies counter deltas in the caller's transaction
+    void adjust(Map<String, Long> deltas);
+    long get(String counter);
+    // Sum of the users.* counters, without the overdue count a snapshot runs
+    long users();
+    StatisticsDto snapshot();
+    void reconcile();
+}
@@ -0,0 +1,113 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+import com.example.LibraryManagementSystem.repository.StatisticRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Counters maintained in the same transaction as the change they describe, so reads are a
+// lookup instead of COUNT(*). Loans turn overdue by the calendar rather than by an event, so
+// the overdue figure is counted on read from a partial index instead of kept as a counter.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final int SLOTS = 16;
+
+    private final StatisticRepository statisticRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public void adjust(Map<String, Long> deltas) {
+        // One slot per call and counters in name order, so two writers never lock rows in opposite order
+        int slot = ThreadLocalRandom.current().nextInt(SLOTS);
+        new TreeMap<>(deltas).forEach((name, delta) -> {
+            if (delta != 0) {
+                statisticRepository.add(name, slot, delta);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long get(String counter) {
+        return statisticRepository.total(counter);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long users() {
+        return statisticRepository.totalWithPrefix(USERS_PREFIX);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StatisticsDto snapshot() {
+        Map<String, Long> totals = new TreeMap<>();
+        for (Object[] row : statisticRepository.totals()) {
+            totals.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        Map<String, Long> usersByRole = new TreeMap<>();
+        totals.forEach((name, value) -> {
+            if (name.startsWith(USERS_PREFIX)) {
+                usersByRole.put(name.substring(USERS_PREFIX.length()), value);
+            }
+        });
+        return StatisticsDto.builder()
+                .books(totals.getOrDefault(BOOKS, 0L))
+                .copies(totals.getOrDefault(COPIES, 0L))
+                .availableCopies(totals.getOrDefault(AVAILABLE_COPIES, 0L))
+                .users(usersByRole.values().stream().mapToLong(Long::longValue).sum())
+                .usersByRole(usersByRole)
+                .activeLoans(totals.getOrDefault(ACTIVE_LOANS, 0L))
+                .overdueLoans(statisticRepository.countOverdueLoans(LocalDate.now()))
+                .build();
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 */10 * * * *}")
+    @Override
+    public void reconcile() {
+        long startedAt = System.currentTimeMillis();
+        // Counters and source tables read in one snapshot, so their difference is the drift as of that
+        // snapshot whatever commits meanwhile. Nothing is locked while the source tables are scanned.
+        TransactionTemplate snapshot = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Map<String, Long> drift = snapshot.execute(status -> {
+            Map<String, Long> deltas = new HashMap<>();
+            for (Object[] row : statisticRepository.recount()) {
+                deltas.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+            for (Object[] row : statisticRepository.totals()) {
+                deltas.merge((String) row[0], -((Number) row[1]).longValue(), Long::sum);
+            }
+            return deltas;
+        });
+        // Applied like any other update, so concurrent borrows and returns are neither blocked nor lost
+        transactionTemplate.executeWithoutResult(status -> adjust(drift));
+        drift.values().removeIf(delta -> delta == 0);
+        log.info("Statistics reconciled in {} ms, corrected {}", System.currentTimeMillis() - startedAt, drift);
+    }
+
+    // First start (or a wiped table): build the counters before they are served
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (statisticRepository.count() == 0) {
+            reconcile();
+        }
+    }
+}
@@ -6,9 +6,9 @@ import com.example.LibraryManagementSystem.entity.LibraryStudent;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
 import com.example.LibraryManagementSystem.repository.StudentRepository;
 import com.example.LibraryManagementSystem.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -6,9 +6,9 @@ import com.example.LibraryManagementSystem.entity.LibraryTeacher;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
 import com.example.LibraryManagementSystem.repository.TeacherRepository;
 import com.example.LibraryManagementSystem.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -1,13 +1,19 @@
 package com.example.LibraryManagementSystem.service;
 
 import com.example.LibraryManagementSystem.dto.TransactionDto;
+import com.example.LibraryManagementSystem.dto.UserLoansDto;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     TransactionDto borrowBook(Long userId, Long bookId);
     TransactionDto returnBook(Long userId, Long bookId);
     Optional<TransactionDto> findById(Long id);
     List<TransactionDto> findAll();
+    List<TransactionDto> findPage(Long afterId, Integer limit);
+    void streamAll(Consumer<TransactionDto> consumer);
+    Optional<UserLoansDto> getUserLoans(Long userId);
+    double recordFinePayment(Long userId, double amount);
 }
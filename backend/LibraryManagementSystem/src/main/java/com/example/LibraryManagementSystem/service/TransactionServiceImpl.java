@@ -1,111 +1,253 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
+import com.example.LibraryManagementSystem.dto.ActiveLoanDto;
 import com.example.LibraryManagementSystem.dto.TransactionDto;
+import com.example.LibraryManagementSystem.dto.UserLoansDto;
 import com.example.LibraryManagementSystem.entity.LibraryBook;
 import com.example.LibraryManagementSystem.entity.LibraryTransaction;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
+import com.example.LibraryManagementSystem.repository.ArchivedTransactionRepository;
 import com.example.LibraryManagementSystem.repository.BookRepository;
 import com.example.LibraryManagementSystem.repository.TransactionRepository;
 import com.example.LibraryManagementSystem.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
+    private final BookAvailabilityView availabilityView;
+    private final StatisticsService statisticsService;
+    private final BorrowingPolicy borrowingPolicy;
+    private final HoldService holdService;
 
-    private static final int BORROW_DAYS = 14;
-    private static final double FINE_PER_DAY = 10;
+    static final double FINE_PER_DAY = 10; // also used by FineAccrualServiceImpl
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId"),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_LOANS, key = "#userId")
+    })
+    @Timed(value = "library.service", extraTags = {"operation", "borrow"}, histogram = true)
     public TransactionDto borrowBook(Long userId, Long bookId) {
-        LibraryUser user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        LibraryBook book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new RuntimeException("Book not found"));
+        // A ready hold means a copy is already set aside for this borrower (claim is undone if refused below)
+        boolean reserved = holdService.claimReadyHold(userId, bookId);
 
-        if (!book.getAvailable()) {
+        // Hot titles with no copies left are turned away without a database round-trip
+        if (!reserved && availabilityView.isSoldOut(bookId)) {
             throw new RuntimeException("Book not available");
         }
 
-        book.setAvailable(false);
-        bookRepository.save(book);
+        // The row lock holds until commit, so a user's parallel borrows cannot both pass the limit
+        LibraryUser user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Under the user lock, so parallel borrows of one title by one user cannot both pass; one copy per
+        // title per borrower keeps the (user, title) lookup in returnBook unique
+        if (transactionRepository.existsOpenLoan(userId, bookId)) {
+            throw new RuntimeException("Book already on loan to this user");
+        }
+        LocalDate today = LocalDate.now();
+        Object[] standing = transactionRepository.findBorrowerStanding(userId, today).get(0);
+        String refusal = borrowingPolicy.refusal(user.getRole(), ((Number) standing[0]).longValue(),
+                ((Number) standing[1]).longValue(), user.getFinesOwed() + ((Number) standing[2]).doubleValue());
+        if (refusal != null) {
+            throw new RuntimeException(refusal);
+        }
+
+        // Atomic check-and-decrement in the database, so two borrowers can never take the same copy
+        long returnsSeen = availabilityView.returnsSeen(bookId);
+        if (!reserved && bookRepository.markBorrowed(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new RuntimeException("Book not found");
+            }
+            availabilityView.markSoldOut(bookId, returnsSeen);
+            throw new RuntimeException("Book not available");
+        }
+        LibraryBook book = bookRepository.getReferenceById(bookId);
 
         LibraryTransaction transaction = LibraryTransaction.builder()
                 .user(user)
                 .book(book)
-                .borrowDate(LocalDate.now())
-                .dueDate(LocalDate.now().plusDays(BORROW_DAYS))
+                .borrowDate(today)
+                .dueDate(today.plusDays(borrowingPolicy.ruleFor(user.getRole()).loanDays()))
                 .build();
 
         LibraryTransaction savedTx = transactionRepository.save(transaction);
-        return toTransactionDto(savedTx);
+        statisticsService.adjust(Map.of(
+                StatisticsService.AVAILABLE_COPIES, reserved ? 0L : -1L,
+                StatisticsService.ACTIVE_LOANS, 1L));
+        return DtoMapper.toTransactionDto(savedTx);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId"),
+            @CacheEvict(cacheNames = CacheConfig.BOOK_LIST, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.USER_LOANS, key = "#userId")
+    })
+    @Timed(value = "library.service", extraTags = {"operation", "return"}, histogram = true)
     public TransactionDto returnBook(Long userId, Long bookId) {
-        Optional<LibraryTransaction> optionalTransaction = transactionRepository.findAll().stream()
-                .filter(t -> t.getUser().getId().equals(userId)
-                        && t.getBook().getId().equals(bookId)
-                        && t.getReturnDate() == null)
-                .findFirst();
-
-        if (optionalTransaction.isEmpty()) {
-            throw new RuntimeException("Active borrow transaction not found");
-        }
+        // Locks the open loan row so concurrent returns of the same copy are serialised
+        LibraryTransaction transaction = transactionRepository.findActiveTransactionByUserAndBook(userId, bookId)
+                .orElseThrow(() -> new RuntimeException("Active borrow transaction not found"));
 
-        LibraryTransaction transaction = optionalTransaction.get();
         LocalDate returnDate = LocalDate.now();
         transaction.setReturnDate(returnDate);
 
         if (returnDate.isAfter(transaction.getDueDate())) {
             long daysLate = java.time.temporal.ChronoUnit.DAYS.between(transaction.getDueDate(), returnDate);
             transaction.setFine(daysLate * FINE_PER_DAY);
+            // Unpaid until recorded through recordFinePayment, and blocks borrowing until then
+            userRepository.addFinesOwed(userId, transaction.getFine());
         } else {
             transaction.setFine(0.0);
         }
 
-        LibraryBook book = transaction.getBook();
-        book.setAvailable(true);
-        bookRepository.save(book);
+        // The head of the hold queue gets the copy; with nobody waiting it goes back on the shelf
+        int copiesReturned = 0;
+        if (!holdService.handOffReturnedCopy(bookId)) {
+            copiesReturned = bookRepository.markReturned(bookId);
+            availabilityView.copyReturned(bookId);
+        }
+        statisticsService.adjust(Map.of(
+                StatisticsService.AVAILABLE_COPIES, (long) copiesReturned,
+                StatisticsService.ACTIVE_LOANS, -1L));
 
         LibraryTransaction savedTx = transactionRepository.save(transaction);
-        return toTransactionDto(savedTx);
+        return DtoMapper.toTransactionDto(savedTx);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_LOANS, key = "#userId")
+    public double recordFinePayment(Long userId, double amount) {
+        if (amount <= 0) {
+            throw new RuntimeException("Payment must be positive");
+        }
+        LibraryUser user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (amount > user.getFinesOwed()) {
+            throw new RuntimeException("Payment exceeds unpaid fines of " + user.getFinesOwed());
+        }
+        user.setFinesOwed(user.getFinesOwed() - amount);
+        return user.getFinesOwed();
     }
 
+    // Listings span open/recent loans and the archive (see LoanArchiveServiceImpl). REPEATABLE READ
+    // gives both queries one snapshot, so a loan archived in between is seen exactly once.
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public Optional<TransactionDto> findById(Long id) {
-        return transactionRepository.findById(id)
-                .map(this::toTransactionDto);
+        Optional<TransactionDto> transaction = transactionRepository.findDtoById(id);
+        return transaction.isPresent() ? transaction : archivedTransactionRepository.findDtoById(id);
     }
 
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<TransactionDto> findAll() {
-        return transactionRepository.findAll().stream()
-                .map(this::toTransactionDto)
-                .toList();
+        List<TransactionDto> recent = transactionRepository.findAllDtos();
+        List<TransactionDto> archived = archivedTransactionRepository.findAllDtos();
+        List<TransactionDto> all = new ArrayList<>(recent.size() + archived.size());
+        mergeById(recent.iterator(), archived.iterator(), all::add);
+        return all;
     }
 
-    private TransactionDto toTransactionDto(LibraryTransaction tx) {
-        TransactionDto dto = new TransactionDto();
-        dto.setId(tx.getId());
-        dto.setUserId(tx.getUser().getId());
-        dto.setBookId(tx.getBook().getId());
-        dto.setBorrowDate(tx.getBorrowDate());
-        dto.setDueDate(tx.getDueDate());
-        dto.setReturnDate(tx.getReturnDate());
-        dto.setFine(tx.getFine());
-        return dto;
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<TransactionDto> findPage(Long afterId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = afterId == null ? 0L : afterId;
+        // Each table contributes at most a page; the merge keeps the first pageSize ids
+        List<TransactionDto> recent = transactionRepository.findDtoPage(after, Limit.of(pageSize));
+        List<TransactionDto> archived = archivedTransactionRepository.findDtoPage(after, Limit.of(pageSize));
+        List<TransactionDto> page = new ArrayList<>(pageSize);
+        mergeById(recent.iterator(), archived.iterator(), transaction -> {
+            if (page.size() < pageSize) {
+                page.add(transaction);
+            }
+        });
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void streamAll(Consumer<TransactionDto> consumer) {
+        // DTO rows are not managed entities, so the persistence context stays empty.
+        // Two cursors are open at once and merged, so the export is still a single pass in id order.
+        try (Stream<TransactionDto> recent = transactionRepository.streamAllDtos();
+             Stream<TransactionDto> archived = archivedTransactionRepository.streamAllDtos()) {
+            mergeById(recent.iterator(), archived.iterator(), consumer);
+        }
+    }
+
+    @Override
+    // Primary, not a replica: this is cached right after borrow/return evict it, and a lagging read
+    // would show the borrower their loans from before the change for the rest of the TTL
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.USER_LOANS, key = "#userId", unless = "#result == null")
+    public Optional<UserLoansDto> getUserLoans(Long userId) {
+        List<Object[]> rows = transactionRepository.findUserLoanSummary(userId, LocalDate.now());
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Every row carries the same aggregates; loan columns are null when the user has nothing out
+        Object[] first = rows.get(0);
+        List<ActiveLoanDto> loans = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                loans.add(new ActiveLoanDto((Long) row[1], (Long) row[2], (String) row[3],
+                        (LocalDate) row[4], (LocalDate) row[5], (Double) row[6]));
+            }
+        }
+        return Optional.of(UserLoansDto.builder()
+                .userId(userId)
+                .activeLoans(loans)
+                .overdueCount(((Number) first[7]).longValue())
+                .outstandingFines(((Number) first[8]).doubleValue())
+                .build());
+    }
+
+    // Ordered merge of two id-ordered sources; archived loans keep their id, so no id is in both
+    private static void mergeById(Iterator<TransactionDto> recent, Iterator<TransactionDto> archived,
+                                  Consumer<TransactionDto> consumer) {
+        TransactionDto nextRecent = recent.hasNext() ? recent.next() : null;
+        TransactionDto nextArchived = archived.hasNext() ? archived.next() : null;
+        while (nextRecent != null || nextArchived != null) {
+            if (nextArchived == null || (nextRecent != null && nextRecent.getId() < nextArchived.getId())) {
+                consumer.accept(nextRecent);
+                nextRecent = recent.hasNext() ? recent.next() : null;
+            } else {
+                consumer.accept(nextArchived);
+                nextArchived = archived.hasNext() ? archived.next() : null;
+            }
+        }
     }
 }
@@ -0,0 +1,11 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.UserProvisionResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface UserProvisioningService {
+    void provision(InputStream input, Consumer<UserProvisionResultDto> results) throws IOException;
+}
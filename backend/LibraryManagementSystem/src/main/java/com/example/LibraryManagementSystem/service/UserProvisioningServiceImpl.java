@@ -0,0 +1,249 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.CreateUserDto;
+import com.example.LibraryManagementSystem.dto.UserProvisionResultDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Bulk user enrolment: reads NDJSON in chunks, hashes passwords in parallel across cores,
+// then inserts users and their student/teacher rows as JDBC batches in one transaction per chunk.
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String INSERT_USER =
+            "INSERT INTO library_user (name, email, password, role) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_STUDENT =
+            "INSERT INTO library_student (user_id, year_of_study, branch) VALUES (?, ?, ?)";
+    private static final String INSERT_TEACHER =
+            "INSERT INTO library_teacher (user_id, department, designation) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final StatisticsService statisticsService;
+    private final ExecutorService provisioningHashingExecutor;
+
+    @Override
+    public void provision(InputStream input, Consumer<UserProvisionResultDto> results) throws IOException {
+        long startedAt = System.nanoTime();
+        long created = 0;
+        long failed = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<PendingUser> chunk = new ArrayList<>(CHUNK_SIZE);
+        long row = 0;
+        String line;
+        while (true) {
+            line = reader.readLine();
+            if (line != null && !line.isBlank()) {
+                row++;
+                PendingUser pending = parse(row, line);
+                if (pending.error() != null) {
+                    results.accept(UserProvisionResultDto.failed(row, pending.email(), pending.error()));
+                    failed++;
+                } else {
+                    chunk.add(pending);
+                }
+            }
+            if (chunk.size() == CHUNK_SIZE || (line == null && !chunk.isEmpty())) {
+                for (UserProvisionResultDto result : provisionChunk(chunk)) {
+                    if ("CREATED".equals(result.getStatus())) {
+                        created++;
+                    } else {
+                        failed++;
+                    }
+                    results.accept(result);
+                }
+                chunk.clear();
+            }
+            if (line == null) {
+                break;
+            }
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        log.info("Bulk user provisioning: {} created, {} failed in {} ms ({} users/sec)",
+                created, failed, durationMs, String.format("%.0f", created * 1000.0 / durationMs));
+    }
+
+    private PendingUser parse(long row, String line) {
+        CreateUserDto dto;
+        try {
+            dto = objectMapper.readValue(line, CreateUserDto.class);
+        } catch (JsonProcessingException e) {
+            return PendingUser.invalid(row, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<CreateUserDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return PendingUser.invalid(row, dto, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+
+        // Same role handling as UserServiceImpl.saveUser, plus the NOT NULL columns of the role tables
+        String role = dto.getRole().toUpperCase(Locale.ROOT);
+        switch (role) {
+            case "STUDENT" -> {
+                if (dto.getDepartment() == null || dto.getYearOfStudy() == null
+                        || dto.getYearOfStudy() < 1 || dto.getYearOfStudy() > 4) {
+                    return PendingUser.invalid(row, dto, "Students need a department (branch) and a year of study between 1 and 4");
+                }
+            }
+            case "TEACHER" -> {
+                if (dto.getDepartment() == null) {
+                    return PendingUser.invalid(row, dto, "Teachers need a department");
+                }
+            }
+            case "ADMIN" -> { }
+            default -> {
+                return PendingUser.invalid(row, dto, "Unknown role: " + dto.getRole());
+            }
+        }
+        return new PendingUser(row, dto, role, null);
+    }
+
+    private List<UserProvisionResultDto> provisionChunk(List<PendingUser> chunk) {
+        List<UserProvisionResultDto> results = new ArrayList<>(chunk.size());
+
+        // Reject emails that already exist or repeat within the chunk before doing any hashing.
+        // Compared trimmed and lower-cased (idx_user_email_lower), so case variants count as duplicates.
+        Set<String> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT LOWER(email) FROM library_user WHERE LOWER(email) IN (:emails)",
+                Map.of("emails", chunk.stream().map(PendingUser::emailKey).toList()),
+                String.class));
+        List<PendingUser> accepted = new ArrayList<>(chunk.size());
+        Set<String> seen = new HashSet<>();
+        for (PendingUser pending : chunk) {
+            if (existing.contains(pending.emailKey()) || !seen.add(pending.emailKey())) {
+                results.add(UserProvisionResultDto.failed(pending.row(), pending.email(), "Email already exists"));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        // Submit every hash before joining any, so the whole chunk runs in parallel
+        List<String> hashes = accepted.stream()
+                .map(pending -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(pending.dto().getPassword()), provisioningHashingExecutor))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insertChunk(accepted, hashes));
+            for (int i = 0; i < accepted.size(); i++) {
+                results.add(UserProvisionResultDto.created(accepted.get(i).row(), accepted.get(i).email(), ids.get(i)));
+            }
+        } catch (DataAccessException e) {
+            String message = "Chunk insert failed: " + e.getMostSpecificCause().getMessage();
+            log.warn("Bulk user provisioning chunk failed: {}", e.getMostSpecificCause().getMessage());
+            for (PendingUser pending : accepted) {
+                results.add(UserProvisionResultDto.failed(pending.row(), pending.email(), message));
+            }
+        }
+        return results;
+    }
+
+    private List<Long> insertChunk(List<PendingUser> users, List<String> hashes) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CreateUserDto dto = users.get(i).dto();
+                        ps.setString(1, dto.getUsername());
+                        ps.setString(2, dto.getEmail());
+                        ps.setString(3, hashes.get(i));
+                        ps.setString(4, users.get(i).role());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return users.size();
+                    }
+                },
+                keyHolder);
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> teachers = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            CreateUserDto dto = users.get(i).dto();
+            if ("STUDENT".equals(users.get(i).role())) {
+                students.add(new Object[]{ids.get(i), dto.getYearOfStudy(), dto.getDepartment()});
+            } else if ("TEACHER".equals(users.get(i).role())) {
+                teachers.add(new Object[]{ids.get(i), dto.getDepartment(), dto.getDesignation()});
+            }
+        }
+        if (!students.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_STUDENT, students, new int[]{Types.BIGINT, Types.INTEGER, Types.VARCHAR});
+        }
+        if (!teachers.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TEACHER, teachers, new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR});
+        }
+        statisticsService.adjust(users.stream().collect(Collectors.groupingBy(
+                user -> StatisticsService.USERS_PREFIX + user.role(), Collectors.counting())));
+        return ids;
+    }
+
+    private record PendingUser(long row, CreateUserDto dto, String role, String error) {
+        static PendingUser invalid(long row, CreateUserDto dto, String error) {
+            return new PendingUser(row, dto, null, error);
+        }
+
+        String email() {
+            return dto == null ? null : dto.getEmail();
+        }
+
+        String emailKey() {
+            return dto.getEmail().trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
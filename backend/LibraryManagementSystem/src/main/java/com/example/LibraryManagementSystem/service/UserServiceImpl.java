@@ -1,5 +1,6 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.dto.CreateUserDto;
 import com.example.LibraryManagementSystem.dto.UserDto;
 import com.example.LibraryManagementSystem.entity.LibraryStudent;
@@ -7,13 +8,17 @@ import com.example.LibraryManagementSystem.entity.LibraryTeacher;
 import com.example.LibraryManagementSystem.entity.LibraryUser;
 import com.example.LibraryManagementSystem.repository.StudentRepository;
 import com.example.LibraryManagementSystem.repository.TeacherRepository;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
 import com.example.LibraryManagementSystem.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -22,57 +27,80 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final TeacherRepository teacherRepository;
     private final StudentRepository studentRepository;
+    private final TransactionRepository transactionRepository;
+    private final StatisticsService statisticsService;
+    private final HoldService holdService;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
 
+    // Not @Transactional: the hash is computed first, so a registration waiting on the hashing pool
+    // does not hold a pooled JDBC connection; the inserts then run in one transaction
     @Override
-    @Transactional
     public UserDto saveUser(CreateUserDto dto) {
 
-        String hashedPassword = passwordEncoder.encode(dto.getPassword());
-
-        LibraryUser user = LibraryUser.builder()
-                .name(dto.getUsername())
-                .email(dto.getEmail())
-                .password(hashedPassword) // Should hash before saving!
-                .role(dto.getRole().toUpperCase())
-                .build();
-        LibraryUser savedUser = userRepository.save(user);
+        String hashedPassword = passwordHashingService.encode(dto.getPassword());
 
-        if ("TEACHER".equalsIgnoreCase(dto.getRole())) {
-            LibraryTeacher teacher = LibraryTeacher.builder()
-                    .department(dto.getDepartment())
-                    .designation(dto.getDesignation())
-                    .user(savedUser)
-                    .build();
-            teacherRepository.save(teacher);
-        } else if ("STUDENT".equalsIgnoreCase(dto.getRole())) {
-            LibraryStudent student = LibraryStudent.builder()
-                    .branch(dto.getDepartment())
-                    .yearOfStudy(dto.getYearOfStudy())
-                    .user(savedUser)
+        return transactionTemplate.execute(status -> {
+            LibraryUser user = LibraryUser.builder()
+                    .name(dto.getUsername())
+                    .email(dto.getEmail())
+                    .password(hashedPassword)
+                    .role(dto.getRole().toUpperCase())
                     .build();
-            studentRepository.save(student);
-        }
-        return toUserDto(savedUser);
+            LibraryUser savedUser = userRepository.save(user);
+
+            if ("TEACHER".equalsIgnoreCase(dto.getRole())) {
+                LibraryTeacher teacher = LibraryTeacher.builder()
+                        .department(dto.getDepartment())
+                        .designation(dto.getDesignation())
+                        .user(savedUser)
+                        .build();
+                teacherRepository.save(teacher);
+            } else if ("STUDENT".equalsIgnoreCase(dto.getRole())) {
+                LibraryStudent student = LibraryStudent.builder()
+                        .branch(dto.getDepartment())
+                        .yearOfStudy(dto.getYearOfStudy())
+                        .user(savedUser)
+                        .build();
+                studentRepository.save(student);
+            }
+            statisticsService.adjust(Map.of(StatisticsService.USERS_PREFIX + savedUser.getRole(), 1L));
+            return toUserDto(savedUser);
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> findById(Long id) {
         return userRepository.findById(id).map(this::toUserDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> findAll() {
         return userRepository.findAll().stream()
                 .map(this::toUserDto).toList();
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_LOANS, key = "#id")
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(user -> {
+            // Loans are removed with the user (cascade), so they leave the loan counters too
+            long openLoans = transactionRepository.countOpenLoansByUser(id);
+            statisticsService.adjust(Map.of(
+                    StatisticsService.USERS_PREFIX + user.getRole(), -1L,
+                    StatisticsService.ACTIVE_LOANS, -openLoans));
+            // Copies set aside for this user go to the next in line before the holds are removed
+            holdService.cancelHoldsOfUser(id);
+        });
         userRepository.deleteById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<UserDto> findByEmail(String email) {
         return userRepository.findByEmail(email).map(this::toUserDto);
     }
@@ -84,7 +112,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public long getUserCount() {
-        return userRepository.count();
+        return statisticsService.users();
     }
 
     private UserDto toUserDto(LibraryUser user) {
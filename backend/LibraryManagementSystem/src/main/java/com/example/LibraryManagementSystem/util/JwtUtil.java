@@ -1,31 +1,95 @@
 // JwtUtil.java
 package com.example.LibraryManagementSystem.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${JWT_SECRET_KEY}")
     private String secretKey;
 
+    @Value("${app.jwt.claims-cache-size:10000}")
+    private long claimsCacheSize;
+
     // Token validity: 24 hours
     private static final long JWT_TOKEN_VALIDITY = 24 * 60 * 60 * 1000; // 24 hours in milliseconds
 
+    // Built once at startup instead of per parse
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Verified claims keyed by SHA-256 of the token; each entry expires with its token
+    private Cache<String, Claims> claimsCache;
+
+    // Signature verification time (cache misses only)
+    private Timer verifyTimer;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                        long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwtClaims");
+        verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and claims parsing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     // Get secret key for signing
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return signingKey;
     }
 
     // Extract username from token
@@ -59,19 +123,25 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    // Extract all claims from token
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Extract all claims from token, verifying the signature only on a cache miss.
+    // Invalid tokens throw and are never cached.
+    public Claims getAllClaimsFromToken(String token) {
+        return claimsCache.get(hashToken(token), key -> verifyTimer.record(() -> jwtParser.parseClaimsJws(token).getBody()));
     }
 
-    // Check if token is expired
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    // Check if already-parsed claims are expired
+    public boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    // Cache key: the raw token is never kept in memory beyond the request
+    private String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     // Generate token for user
@@ -97,8 +167,8 @@ public class JwtUtil {
 
     // Validate token
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = getUsernameFromToken(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        final Claims claims = getAllClaimsFromToken(token);
+        return (claims.getSubject().equals(username) && !isTokenExpired(claims));
     }
 
     // Get token validity in milliseconds
@@ -0,0 +1,49 @@
+-- Runs after Hibernate's ddl-auto update (see spring.jpa.defer-datasource-initialization).
+-- Holds the PostgreSQL-specific indexes that JPA @Index cannot express.
+
+-- Partial index over open loans only, used by the return path
+CREATE INDEX IF NOT EXISTS idx_transaction_open_loan
+    ON library_transaction (user_id, book_id)
+    WHERE return_date IS NULL;
+
+-- Trigram indexes so '%term%' title/author searches do not scan library_book
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_book_title_trgm
+    ON library_book USING gin (lower(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_book_author_trgm
+    ON library_book USING gin (lower(author) gin_trgm_ops);
+
+-- Copies model: titles that were on loan before the copy counters existed have no copy left
+UPDATE library_book SET available_copies = 0
+    WHERE available = false AND available_copies > 0;
+
+-- Keyset order of the overdue notification run: (user_id, id) over open loans
+CREATE INDEX IF NOT EXISTS idx_transaction_open_loan_user_id
+    ON library_transaction (user_id, id)
+    WHERE return_date IS NULL;
+
+-- Hold queue: waiting holds per title in queue (id) order; the head is the first index entry
+CREATE INDEX IF NOT EXISTS idx_hold_queue
+    ON library_hold (book_id, id)
+    WHERE status = 'WAITING';
+
+-- At most one active hold per user and title; also serves the ready-hold lookup on borrow
+CREATE UNIQUE INDEX IF NOT EXISTS uq_hold_active
+    ON library_hold (user_id, book_id)
+    WHERE status IN ('WAITING', 'READY');
+
+-- Expiry job: only active holds are ever candidates
+CREATE INDEX IF NOT EXISTS idx_hold_active_expiry
+    ON library_hold (expires_at)
+    WHERE status IN ('WAITING', 'READY');
+
+-- Case-insensitive email lookups (bulk enrolment duplicate check)
+CREATE INDEX IF NOT EXISTS idx_user_email_lower
+    ON library_user (lower(email));
+
+-- Overdue loan count on the statistics endpoint: open loans by due date
+CREATE INDEX IF NOT EXISTS idx_transaction_open_loan_due
+    ON library_transaction (due_date)
+    WHERE return_date IS NULL;
@@ -0,0 +1,76 @@
+package com.example.LibraryManagementSystem;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Base for integration tests: the application on a random port against an embedded PostgreSQL.
+// Every subclass shares the one database and the cached Spring context, so tests create their own
+// users and books instead of relying on an empty schema.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public abstract class EmbeddedPostgresTest {
+
+    protected static final String PASSWORD = "password";
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+    private static final AtomicLong NAMES = new AtomicLong();
+    private static String passwordHash;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @LocalServerPort
+    protected int port;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+    }
+
+    // Inserted directly, so the statistics counters do not include it until the next reconcile
+    protected long createBook(int copies) {
+        return jdbcTemplate.queryForObject("INSERT INTO library_book " +
+                "(title, author, available, version, total_copies, available_copies) " +
+                "VALUES (?, 'Test Author', ?, 0, ?, ?) RETURNING id", Long.class,
+                "Test Title " + NAMES.incrementAndGet(), copies > 0, copies, copies);
+    }
+
+    // Users that can log in with PASSWORD, ids in creation order
+    protected List<Long> createUsers(String role, int count) {
+        String prefix = role.toLowerCase() + NAMES.incrementAndGet() + "-";
+        return jdbcTemplate.queryForList("INSERT INTO library_user (name, email, password, role) " +
+                "SELECT 'Test User ' || g, ? || g || '@test.library', ?, ? FROM generate_series(1, ?) g " +
+                "RETURNING id", Long.class, prefix, passwordHash(), role, count);
+    }
+
+    protected String emailOf(long userId) {
+        return jdbcTemplate.queryForObject("SELECT email FROM library_user WHERE id = ?", String.class, userId);
+    }
+
+    private static synchronized String passwordHash() {
+        if (passwordHash == null) {
+            passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        }
+        return passwordHash;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,10 +1,8 @@
 package com.example.LibraryManagementSystem;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class LibraryManagementSystemApplicationTests {
+class LibraryManagementSystemApplicationTests extends EmbeddedPostgresTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,36 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every cache, including those wrapped in EvictionGuardedCache, publishes hit/miss/eviction meters
+class CacheMetricsTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void everyCacheReportsGetsPutsAndEvictions() {
+        assertThat(cacheManager.getCacheNames())
+                .contains(CacheConfig.BOOKS, CacheConfig.BOOK_LIST, CacheConfig.USER_LOANS);
+        for (String name : cacheManager.getCacheNames()) {
+            assertThat(meterRegistry.find("cache.gets").tag("cache", name).tag("result", "hit").functionCounter())
+                    .as("cache.gets for %s", name).isNotNull();
+            assertThat(meterRegistry.find("cache.gets").tag("cache", name).tag("result", "miss").functionCounter())
+                    .as("cache.gets misses for %s", name).isNotNull();
+            assertThat(meterRegistry.find("cache.puts").tag("cache", name).functionCounter())
+                    .as("cache.puts for %s", name).isNotNull();
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", name).functionCounter())
+                    .as("cache.evictions for %s", name).isNotNull();
+        }
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "jwtClaims").functionCounter()).isNotNull();
+    }
+}
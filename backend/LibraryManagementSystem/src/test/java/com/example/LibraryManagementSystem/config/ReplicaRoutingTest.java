@@ -0,0 +1,111 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Read-only transactions go to the replica, everything else to the primary, and reads fall back to
+// the primary while the replica lags or is down. The replica is a second embedded PostgreSQL: it does
+// not replicate, but reports replay lag through stand-ins for the pg_* functions ReplicaLagMonitor
+// queries (found first through the search_path), so the test can make it lag.
+@DirtiesContext
+class ReplicaRoutingTest extends EmbeddedPostgresTest {
+
+    private static final EmbeddedPostgres REPLICA = startReplica();
+    private static final Duration SWITCH_DEADLINE = Duration.ofSeconds(30);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JdbcTemplate replica = new JdbcTemplate(REPLICA.getPostgresDatabase());
+
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replicas.urls", () -> REPLICA.getJdbcUrl("postgres", "postgres"));
+        registry.add("app.datasource.replicas.max-lag", () -> "5s");
+        registry.add("app.datasource.replicas.check-interval", () -> "100ms");
+        // A stopped replica must fail the lag check quickly instead of waiting out the pool timeout
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "1000");
+    }
+
+    @Test
+    void readOnlyWorkFollowsTheReplicaWhileItIsHealthy() throws Exception {
+        assertThat(serverPort(false)).as("read-write").isEqualTo(primaryPort());
+        awaitReadOnlyOn(REPLICA.getPort());
+
+        replica.update("UPDATE lag_stub.replay SET lag = interval '60 seconds'");
+        awaitReadOnlyOn(primaryPort());
+        assertThat(serverPort(false)).as("read-write").isEqualTo(primaryPort());
+
+        replica.update("UPDATE lag_stub.replay SET lag = interval '0'");
+        awaitReadOnlyOn(REPLICA.getPort());
+
+        REPLICA.close();
+        awaitReadOnlyOn(primaryPort());
+        assertThat(serverPort(false)).as("read-write").isEqualTo(primaryPort());
+    }
+
+    private int primaryPort() {
+        return Integer.parseInt(jdbcTemplate.queryForObject("SELECT current_setting('port')", String.class));
+    }
+
+    // The server a transaction's statements ran on; readOnly like @Transactional(readOnly = true)
+    private int serverPort(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return Integer.parseInt(transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('port')", String.class)));
+    }
+
+    // The monitor moves the replica in or out of rotation on its next check
+    private void awaitReadOnlyOn(int port) throws InterruptedException {
+        long deadline = System.nanoTime() + SWITCH_DEADLINE.toNanos();
+        while (true) {
+            try {
+                if (serverPort(true) == port) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // A read can hit the stopped replica before the monitor takes it out of rotation
+            }
+            assertThat(System.nanoTime()).as("read-only work on port %d", port).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static EmbeddedPostgres startReplica() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            JdbcTemplate jdbc = new JdbcTemplate(postgres.getPostgresDatabase());
+            jdbc.execute("CREATE SCHEMA lag_stub");
+            jdbc.execute("CREATE TABLE lag_stub.replay (lag interval NOT NULL)");
+            jdbc.execute("INSERT INTO lag_stub.replay VALUES (interval '0')");
+            jdbc.execute("CREATE FUNCTION lag_stub.pg_is_in_recovery() RETURNS boolean LANGUAGE sql AS 'SELECT true'");
+            // Received ahead of replayed while lagging, caught up otherwise
+            jdbc.execute("CREATE FUNCTION lag_stub.pg_last_wal_receive_lsn() RETURNS pg_lsn LANGUAGE sql AS " +
+                    "$$SELECT CASE WHEN lag > interval '0' THEN '0/2'::pg_lsn ELSE '0/1'::pg_lsn END FROM lag_stub.replay$$");
+            jdbc.execute("CREATE FUNCTION lag_stub.pg_last_wal_replay_lsn() RETURNS pg_lsn LANGUAGE sql AS " +
+                    "$$SELECT '0/1'::pg_lsn$$");
+            jdbc.execute("CREATE FUNCTION lag_stub.pg_last_xact_replay_timestamp() RETURNS timestamptz LANGUAGE sql AS " +
+                    "$$SELECT now() - lag FROM lag_stub.replay$$");
+            // pg_catalog named explicitly, so the stand-ins are found before the built-ins
+            jdbc.execute("ALTER DATABASE postgres SET search_path = lag_stub, pg_catalog, public");
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Actuator, including the unauthenticated health and Prometheus endpoints, is only served on the
+// management port. @SpringBootTest turns the Prometheus export off, so the endpoint itself is not checked here.
+class ActuatorExposureTest extends EmbeddedPostgresTest {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void actuatorIsNotServedOnThePublicPort() throws Exception {
+        assertThat(managementPort).isNotEqualTo(port);
+        assertThat(status(port, "/actuator/prometheus")).isIn(401, 403, 404);
+        assertThat(status(port, "/actuator/health")).isIn(401, 403, 404);
+    }
+
+    @Test
+    void actuatorIsServedOnTheManagementPort() throws Exception {
+        assertThat(status(managementPort, "/actuator/health")).isEqualTo(200);
+        assertThat(status(managementPort, "/actuator/metrics")).isIn(401, 403);
+    }
+
+    private int status(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
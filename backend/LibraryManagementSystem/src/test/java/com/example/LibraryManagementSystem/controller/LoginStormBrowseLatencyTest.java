@@ -0,0 +1,149 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// BCrypt runs on the bounded hashing pool, so a storm of logins queues or sheds there (503)
+// instead of taking the CPU and request threads that catalogue browsing needs. The default build
+// checks the outcomes of a short burst; the latency comparison is tagged perf (mvn -Pperf test).
+@Slf4j
+class LoginStormBrowseLatencyTest extends EmbeddedPostgresTest {
+
+    private static final int LOGIN_THREADS = 32;
+    private static final int BROWSES = 300;
+    private static final double MAX_SLOWDOWN = 5;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void loginsAreServedOrShedWhileBrowsingIsServed() throws Exception {
+        long browserId = createUsers("STUDENT", 1).get(0);
+        String token = jwtUtil.generateToken(browserId, emailOf(browserId), "Browser", "STUDENT");
+        List<Long> loginUsers = createUsers("STUDENT", LOGIN_THREADS);
+
+        ExecutorService burst = Executors.newFixedThreadPool(LOGIN_THREADS);
+        List<Future<Integer>> logins = new ArrayList<>();
+        for (Long userId : loginUsers) {
+            logins.add(burst.submit(() -> send(login(userId))));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(send(browse(token))).isEqualTo(200);
+        }
+        int ok = 0;
+        for (Future<Integer> login : logins) {
+            int status = login.get();
+            assertThat(status).as("login status").isIn(200, 503);
+            ok += status == 200 ? 1 : 0;
+        }
+        burst.shutdown();
+        assertThat(ok).as("logins served").isPositive();
+    }
+
+    @Test
+    @Tag("perf")
+    void browseLatencyHoldsDuringALoginStorm() throws Exception {
+        long browserId = createUsers("STUDENT", 1).get(0);
+        String token = jwtUtil.generateToken(browserId, emailOf(browserId), "Browser", "STUDENT");
+        List<Long> loginUsers = createUsers("STUDENT", LOGIN_THREADS);
+        for (int i = 0; i < 50; i++) {
+            createBook(1);
+        }
+
+        browseP99(token); // warm-up
+        double quiet = browseP99(token);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        ExecutorService storm = Executors.newFixedThreadPool(LOGIN_THREADS);
+        List<Future<?>> loginLoops = new ArrayList<>();
+        for (Long userId : loginUsers) {
+            HttpRequest login = login(userId);
+            loginLoops.add(storm.submit(() -> {
+                while (!stop.get()) {
+                    int status = send(login);
+                    (status == 200 ? ok : shed).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        Thread.sleep(1000); // let the hashing queue fill
+        double stormy;
+        try {
+            stormy = browseP99(token);
+        } finally {
+            stop.set(true);
+            for (Future<?> loop : loginLoops) {
+                loop.get();
+            }
+            storm.shutdown();
+        }
+        log.info("Browse p99 {} ms quiet, {} ms during {} logins ({} ok, {} shed)",
+                String.format("%.1f", quiet), String.format("%.1f", stormy), ok.get() + shed.get(), ok.get(), shed.get());
+
+        assertThat(ok.get()).as("logins served during the storm").isPositive();
+        assertThat(stormy)
+                .as("browse p99 %.1f ms during the storm, %.1f ms quiet", stormy, quiet)
+                .isLessThan(Math.max(MAX_SLOWDOWN * quiet, quiet + 50));
+    }
+
+    private double browseP99(String token) throws Exception {
+        double[] millis = new double[BROWSES];
+        for (int i = 0; i < BROWSES; i++) {
+            long startedAt = System.nanoTime();
+            int status = send(browse(token));
+            millis[i] = (System.nanoTime() - startedAt) / 1e6;
+            assertThat(status).isEqualTo(200);
+        }
+        Arrays.sort(millis);
+        return millis[(int) Math.ceil(BROWSES * 0.99) - 1];
+    }
+
+    private HttpRequest login(long userId) {
+        String body = "{\"email\":\"" + emailOf(userId) + "\",\"password\":\"" + PASSWORD + "\"}";
+        return HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest browse(String token) {
+        return HttpRequest.newBuilder(uri("/api/books?limit=50"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
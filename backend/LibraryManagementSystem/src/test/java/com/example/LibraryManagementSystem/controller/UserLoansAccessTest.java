@@ -0,0 +1,49 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GET /api/users/{id}/loans: students and teachers read their own summary, ADMIN reads anyone's
+class UserLoansAccessTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void onlyTheOwnerOrAnAdminReadsALoanSummary() throws Exception {
+        long student = createUsers("STUDENT", 1).get(0);
+        long teacher = createUsers("TEACHER", 1).get(0);
+        long admin = createUsers("ADMIN", 1).get(0);
+
+        assertThat(status(token(student, "STUDENT"), student)).isEqualTo(200);
+        assertThat(status(token(teacher, "TEACHER"), teacher)).isEqualTo(200);
+        assertThat(status(token(student, "STUDENT"), teacher)).isEqualTo(403);
+        assertThat(status(token(teacher, "TEACHER"), student)).isEqualTo(403);
+        assertThat(status(token(admin, "ADMIN"), student)).isEqualTo(200);
+        // The rest of /api/users stays admin-only
+        assertThat(client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + student))
+                        .header("Authorization", "Bearer " + token(student, "STUDENT")).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(403);
+    }
+
+    private String token(long userId, String role) {
+        return jwtUtil.generateToken(userId, emailOf(userId), "Test User", role);
+    }
+
+    private int status(String token, long userId) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + userId + "/loans"))
+                        .header("Authorization", "Bearer " + token).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.LibraryManagementSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookAvailabilityViewTest {
+
+    private static final long BOOK_ID = 42L;
+
+    private final BookAvailabilityView view = new BookAvailabilityView(Duration.ofSeconds(5), 100);
+
+    @Test
+    void refusedBorrowMarksTheTitleSoldOut() {
+        long seen = view.returnsSeen(BOOK_ID);
+        view.markSoldOut(BOOK_ID, seen);
+
+        assertThat(view.isSoldOut(BOOK_ID)).isTrue();
+    }
+
+    @Test
+    void returnCommittedBeforeTheMarkWins() {
+        // The borrower found no copy, then a return committed and cleared the view before the mark landed
+        long seen = view.returnsSeen(BOOK_ID);
+        view.copyReturned(BOOK_ID);
+        view.markSoldOut(BOOK_ID, seen);
+
+        assertThat(view.isSoldOut(BOOK_ID)).isFalse();
+    }
+
+    @Test
+    void returnClearsAnEarlierMark() {
+        view.markSoldOut(BOOK_ID, view.returnsSeen(BOOK_ID));
+        view.copyReturned(BOOK_ID);
+
+        assertThat(view.isSoldOut(BOOK_ID)).isFalse();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.config.CacheConfig;
+import com.example.LibraryManagementSystem.dto.BookDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The books cache must never serve a title as available once borrowBook has taken its last copy,
+// including when a findById that loaded the row before the borrow committed puts it afterwards
+class BookCacheConsistencyTest extends EmbeddedPostgresTest {
+
+    private static final int TITLES = 200;
+    private static final int READERS = 4;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void readerOvertakenByTheBorrowCannotCacheTheOldRow() {
+        long userId = createUsers("STUDENT", 1).get(0);
+        long bookId = createBook(1);
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+
+        // A reader misses and loads the row as it was before the borrow...
+        assertThat(books.get(bookId)).isNull();
+        BookDto loaded = bookService.findPage(bookId - 1, 1).get(0);
+        assertThat(loaded.getAvailable()).isTrue();
+        // ...the borrow commits and evicts, and only then does the reader's put land
+        transactionService.borrowBook(userId, bookId);
+        books.put(bookId, loaded);
+
+        assertThat(bookService.findById(bookId)).get().extracting(BookDto::getAvailable).isEqualTo(false);
+    }
+
+    @Test
+    void noStaleAvailableFlagIsServedAfterBorrowBook() throws Exception {
+        List<Long> users = createUsers("STUDENT", TITLES);
+        List<Long> titles = new ArrayList<>();
+        for (int i = 0; i < TITLES; i++) {
+            titles.add(createBook(1));
+        }
+
+        // Readers keep re-caching the title being borrowed right now
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong current = new AtomicLong(titles.get(0));
+        ExecutorService pool = Executors.newFixedThreadPool(READERS);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(pool.submit(() -> {
+                while (!done.get()) {
+                    bookService.findById(current.get());
+                }
+            }));
+        }
+        for (int i = 0; i < TITLES; i++) {
+            current.set(titles.get(i));
+            bookService.findById(titles.get(i));
+            transactionService.borrowBook(users.get(i), titles.get(i));
+        }
+        done.set(true);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        pool.shutdown();
+
+        for (Long bookId : titles) {
+            BookDto book = bookService.findById(bookId).orElseThrow();
+            assertThat(book.getAvailable()).as("book %d available", bookId).isFalse();
+            assertThat(book.getAvailableCopies()).as("book %d copies", bookId).isZero();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.BulkImportResultDto;
+import com.example.LibraryManagementSystem.dto.RowErrorDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Valid rows are imported with their category and counted, invalid ones reported by row number,
+// and a batch the database rejects fails alone
+class BookImportServiceTest extends EmbeddedPostgresTest {
+
+    private static final AtomicLong AUTHORS = new AtomicLong();
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Test
+    void csvImportsValidRowsAndReportsInvalidOnes() throws Exception {
+        String author = author();
+        String csv = String.join("\n",
+                "Title,Author,Category,Copies",
+                "Dune," + author + ",Science Fiction,3",
+                "," + author + ",Fantasy,1",
+                "Emma," + author + ",,many",
+                "\"Peace, and War\"," + author + ",History,",
+                "Persuasion," + author + ",Classics,0");
+        long books = statisticsService.get(StatisticsService.BOOKS);
+        long copies = statisticsService.get(StatisticsService.COPIES);
+
+        BulkImportResultDto result = bookImportService.importCsv(upload(csv));
+
+        assertThat(result.getTotalRows()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(RowErrorDto::getRow).containsExactly(2L, 3L, 5L);
+        assertThat(result.getErrors()).extracting(RowErrorDto::getMessage).satisfiesExactly(
+                message -> assertThat(message).contains("Title is required"),
+                message -> assertThat(message).isEqualTo("Copies must be a whole number"),
+                message -> assertThat(message).isEqualTo("Copies must be at least 1"));
+        assertThat(categoriesByTitle(author)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "Dune", "Science Fiction",
+                "Peace, and War", "History"));
+        assertThat(statisticsService.get(StatisticsService.BOOKS)).isEqualTo(books + 2);
+        assertThat(statisticsService.get(StatisticsService.COPIES)).isEqualTo(copies + 4);
+    }
+
+    @Test
+    void ndjsonImportsValidRowsAndReportsInvalidOnes() throws Exception {
+        String author = author();
+        String ndjson = String.join("\n",
+                "{\"title\":\"Beloved\",\"author\":\"" + author + "\",\"category\":\"Fiction\",\"copies\":2}",
+                "{\"title\":\"Broken\",",
+                "",
+                "{\"title\":\"Nameless\",\"author\":\"\"}",
+                "{\"title\":\"Middlemarch\",\"author\":\"" + author + "\"}");
+        long books = statisticsService.get(StatisticsService.BOOKS);
+        long copies = statisticsService.get(StatisticsService.COPIES);
+
+        BulkImportResultDto result = bookImportService.importNdjson(upload(ndjson));
+
+        // The blank line is skipped and not numbered
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(RowErrorDto::getRow).containsExactly(2L, 3L);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Malformed JSON");
+        assertThat(result.getErrors().get(1).getMessage()).contains("Author is required");
+        assertThat(jdbcTemplate.queryForObject("SELECT category FROM library_book WHERE author = ? AND title = 'Beloved'",
+                String.class, author)).isEqualTo("Fiction");
+        assertThat(jdbcTemplate.queryForObject("SELECT category FROM library_book WHERE author = ? AND title = 'Middlemarch'",
+                String.class, author)).isNull();
+        assertThat(statisticsService.get(StatisticsService.BOOKS)).isEqualTo(books + 2);
+        assertThat(statisticsService.get(StatisticsService.COPIES)).isEqualTo(copies + 3);
+    }
+
+    @Test
+    void aRejectedBatchDoesNotRollBackEarlierBatches() throws Exception {
+        String author = author();
+        // Rows 1-1000 fill the first batch; the database refuses row 1001, failing the second batch
+        String csv = "title,author\n" + IntStream.rangeClosed(1, 1005)
+                .mapToObj(row -> (row == 1001 ? "Rejected" : "Batch Title " + row) + "," + author)
+                .collect(Collectors.joining("\n"));
+        long books = statisticsService.get(StatisticsService.BOOKS);
+
+        jdbcTemplate.execute("ALTER TABLE library_book ADD CONSTRAINT import_test_rejected CHECK (title <> 'Rejected') NOT VALID");
+        BulkImportResultDto result;
+        try {
+            result = bookImportService.importCsv(upload(csv));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE library_book DROP CONSTRAINT import_test_rejected");
+        }
+
+        assertThat(result.getImported()).isEqualTo(1000);
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getErrors()).extracting(RowErrorDto::getRow).containsExactly(1001L, 1002L, 1003L, 1004L, 1005L);
+        assertThat(result.getErrors()).extracting(RowErrorDto::getMessage).allMatch(message -> message.startsWith("Batch insert failed"));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_book WHERE author = ?", Long.class, author))
+                .isEqualTo(1000);
+        assertThat(statisticsService.get(StatisticsService.BOOKS)).isEqualTo(books + 1000);
+    }
+
+    // Unique per test, so the shared database's other books are never counted
+    private static String author() {
+        return "Import Author " + AUTHORS.incrementAndGet() + "-" + System.nanoTime();
+    }
+
+    private Map<String, String> categoriesByTitle(String author) {
+        return jdbcTemplate.queryForList("SELECT title, category FROM library_book WHERE author = ?", author).stream()
+                .collect(Collectors.toMap(row -> (String) row.get("title"), row -> (String) row.get("category")));
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
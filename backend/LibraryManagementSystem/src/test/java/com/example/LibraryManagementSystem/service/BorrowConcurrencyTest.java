@@ -0,0 +1,195 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Hundreds of borrowers race for the few copies of one title; the conditional UPDATE in
+// BookRepository.markBorrowed must let exactly as many through as there are copies
+@Slf4j
+class BorrowConcurrencyTest extends EmbeddedPostgresTest {
+
+    private static final int BORROWERS = 400;
+    private static final int COPIES = 5;
+    private static final int THREADS = 32;
+    private static final int HAMMER_COPIES = 2;
+    private static final int HAMMER_LOANS = 200;
+    private static final Duration HAMMER_DEADLINE = Duration.ofSeconds(60);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BookAvailabilityView availabilityView;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Test
+    void concurrentBorrowsNeverLendACopyTwice() throws Exception {
+        List<Long> users = createUsers("STUDENT", BORROWERS);
+        long bookId = createBook(COPIES);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (Long userId : users) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    transactionService.borrowBook(userId, bookId);
+                    return true;
+                } catch (RuntimeException e) {
+                    assertThat(e).hasMessage("Book not available");
+                    return false;
+                }
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        int lent = 0;
+        for (Future<Boolean> attempt : attempts) {
+            lent += attempt.get() ? 1 : 0;
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        pool.shutdown();
+        log.info("{} concurrent borrows of one title on {} threads: {} lent in {} s ({} borrows/sec)",
+                BORROWERS, THREADS, lent, String.format("%.2f", seconds), String.format("%.0f", BORROWERS / seconds));
+
+        assertThat(lent).isEqualTo(COPIES);
+        Map<String, Object> book = jdbcTemplate.queryForMap(
+                "SELECT available, available_copies FROM library_book WHERE id = ?", bookId);
+        assertThat(book).containsEntry("available", false).containsEntry("available_copies", 0);
+        List<Long> borrowers = jdbcTemplate.queryForList(
+                "SELECT user_id FROM library_transaction WHERE book_id = ? AND return_date IS NULL", Long.class, bookId);
+        assertThat(borrowers).hasSize(COPIES).doesNotHaveDuplicates();
+    }
+
+    // A teacher may hold several loans, but one copy per title: parallel borrows of one title by one
+    // borrower lend a single copy, and that loan can still be returned
+    @Test
+    void aBorrowerTakesOneCopyOfATitle() throws Exception {
+        long teacher = createUsers("TEACHER", 1).get(0);
+        long bookId = createBook(COPIES);
+
+        ExecutorService pool = Executors.newFixedThreadPool(COPIES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < COPIES; i++) {
+            attempts.add(pool.submit(() -> {
+                start.await();
+                try {
+                    transactionService.borrowBook(teacher, bookId);
+                    return true;
+                } catch (RuntimeException e) {
+                    assertThat(e).hasMessage("Book already on loan to this user");
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int lent = 0;
+        for (Future<Boolean> attempt : attempts) {
+            lent += attempt.get() ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertThat(lent).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT available_copies FROM library_book WHERE id = ?",
+                Integer.class, bookId)).isEqualTo(COPIES - 1);
+        transactionService.returnBook(teacher, bookId);
+        assertThat(jdbcTemplate.queryForObject("SELECT available_copies FROM library_book WHERE id = ?",
+                Integer.class, bookId)).isEqualTo(COPIES);
+    }
+
+    // Borrow and return in a loop on one title, so refused borrowers keep marking it sold out while
+    // copies come back: the view must never hold a title sold out with a copy on the shelf. Threads keep
+    // going until enough loans have gone through, as refused rounds take no time at all; meanwhile a
+    // monitor checks each committed snapshot of the title and its open loans.
+    @Test
+    void borrowReturnHammerOnOneTitle() throws Exception {
+        List<Long> users = createUsers("STUDENT", THREADS);
+        long bookId = createBook(HAMMER_COPIES);
+        StatisticsDto before = statisticsService.snapshot();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger loans = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+        long deadline = System.nanoTime() + HAMMER_DEADLINE.toNanos();
+        List<Future<?>> loops = new ArrayList<>();
+        for (Long userId : users) {
+            loops.add(pool.submit(() -> {
+                start.await();
+                while (loans.get() < HAMMER_LOANS && System.nanoTime() < deadline) {
+                    try {
+                        transactionService.borrowBook(userId, bookId);
+                    } catch (RuntimeException e) {
+                        assertThat(e).hasMessage("Book not available");
+                        continue;
+                    }
+                    loans.incrementAndGet();
+                    transactionService.returnBook(userId, bookId);
+                }
+                return null;
+            }));
+        }
+        Future<Integer> monitor = pool.submit(() -> {
+            int snapshots = 0;
+            while (!stop.get()) {
+                // One statement, so every figure comes from the same snapshot
+                Map<String, Object> state = jdbcTemplate.queryForMap("SELECT b.available_copies, " +
+                        "(SELECT COUNT(*) FROM library_transaction t WHERE t.book_id = b.id AND t.return_date IS NULL) AS open_loans, " +
+                        "(SELECT COUNT(DISTINCT t.user_id) FROM library_transaction t WHERE t.book_id = b.id AND t.return_date IS NULL) AS holders " +
+                        "FROM library_book b WHERE b.id = ?", bookId);
+                int available = ((Number) state.get("available_copies")).intValue();
+                long openLoans = ((Number) state.get("open_loans")).longValue();
+                assertThat(available).as("copies on the shelf").isGreaterThanOrEqualTo(0);
+                assertThat(openLoans).as("copies on loan").isLessThanOrEqualTo(HAMMER_COPIES)
+                        .isEqualTo(((Number) state.get("holders")).longValue());
+                assertThat(available + openLoans).as("copies on the shelf and on loan").isEqualTo(HAMMER_COPIES);
+                snapshots++;
+            }
+            return snapshots;
+        });
+        start.countDown();
+        try {
+            for (Future<?> loop : loops) {
+                loop.get();
+            }
+        } finally {
+            stop.set(true);
+            pool.shutdown();
+        }
+        int snapshots = monitor.get();
+        log.info("{} threads on one title with {} copies: {} loans, {} snapshots checked",
+                THREADS, HAMMER_COPIES, loans.get(), snapshots);
+
+        assertThat(loans.get()).as("loans before the deadline").isGreaterThanOrEqualTo(HAMMER_LOANS);
+        assertThat(snapshots).isPositive();
+        Map<String, Object> book = jdbcTemplate.queryForMap(
+                "SELECT available, available_copies FROM library_book WHERE id = ?", bookId);
+        assertThat(book).containsEntry("available", true).containsEntry("available_copies", HAMMER_COPIES);
+        // Every borrow was matched by a return, so the counters are back where they started
+        StatisticsDto after = statisticsService.snapshot();
+        assertThat(after.getAvailableCopies()).isEqualTo(before.getAvailableCopies());
+        assertThat(after.getActiveLoans()).isEqualTo(before.getActiveLoans());
+        assertThat(availabilityView.isSoldOut(bookId)).as("sold out with every copy on the shelf").isFalse();
+        transactionService.borrowBook(users.get(0), bookId);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.UserLoansDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Unpaid fines block the next borrow until paid, the same amount the loan summary shows, and the check costs
+// the same statements for a borrower with a long history as for one with none. The timing run over 200k
+// past loans is tagged perf (mvn -Pperf test).
+@Slf4j
+class BorrowEligibilityTest extends EmbeddedPostgresTest {
+
+    private static final int HISTORY = 100_000;
+    private static final int SHORT_HISTORY = 1000;
+    private static final int BORROWS = 200;
+    private static final double MAX_P99_MS = 250;
+    private static final double MAX_SLOWDOWN = 3;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> users = new ArrayList<>();
+
+    @Test
+    void aLateReturnBlocksBorrowingUntilItsFineIsPaid() {
+        long borrower = createUsers("STUDENT", 1).get(0);
+        users.add(borrower);
+        long bookId = createBook(2);
+        transactionService.borrowBook(borrower, bookId);
+        jdbcTemplate.update("UPDATE library_transaction SET due_date = current_date - 2 " +
+                "WHERE user_id = ? AND return_date IS NULL", borrower);
+        assertThat(transactionService.returnBook(borrower, bookId).getFine()).isEqualTo(20.0);
+
+        assertThatThrownBy(() -> transactionService.borrowBook(borrower, bookId))
+                .hasMessage("Borrowing blocked: outstanding fines of 20.0");
+        assertThat(transactionService.getUserLoans(borrower)).get()
+                .extracting(UserLoansDto::getOutstandingFines).isEqualTo(20.0);
+
+        assertThatThrownBy(() -> transactionService.recordFinePayment(borrower, 25.0))
+                .hasMessage("Payment exceeds unpaid fines of 20.0");
+        assertThat(transactionService.recordFinePayment(borrower, 15.0)).isEqualTo(5.0);
+        assertThatThrownBy(() -> transactionService.borrowBook(borrower, bookId))
+                .hasMessage("Borrowing blocked: outstanding fines of 5.0");
+        assertThat(transactionService.recordFinePayment(borrower, 5.0)).isEqualTo(0.0);
+        assertThat(transactionService.getUserLoans(borrower)).get()
+                .extracting(UserLoansDto::getOutstandingFines).isEqualTo(0.0);
+        assertThat(transactionService.borrowBook(borrower, bookId).getReturnDate()).isNull();
+    }
+
+    // Fines in the history are not re-read: only the balance on the user row counts
+    @Test
+    void finesInTheLoanHistoryAreNotReadAgain() {
+        users.addAll(createUsers("STUDENT", 2));
+        long bookId = createBook(2);
+        long lateReturn = users.get(0);
+        long lateArchived = users.get(1);
+        insertReturnedLoans(lateReturn, bookId, 1, 20.0);
+        insertArchivedLoans(lateArchived, bookId, 1, 30.0);
+
+        assertThat(transactionService.getUserLoans(lateReturn)).get()
+                .extracting(UserLoansDto::getOutstandingFines).isEqualTo(0.0);
+        assertThat(transactionService.borrowBook(lateReturn, bookId).getReturnDate()).isNull();
+        assertThat(transactionService.borrowBook(lateArchived, bookId).getReturnDate()).isNull();
+    }
+
+    @Test
+    void borrowStatementsDoNotGrowWithLoanHistory() {
+        users.addAll(createUsers("STUDENT", 2));
+        long newcomer = users.get(0);
+        long regular = users.get(1);
+        long bookId = createBook(1);
+        insertReturnedLoans(regular, bookId, SHORT_HISTORY, null);
+        insertArchivedLoans(regular, bookId, SHORT_HISTORY, 0.0);
+
+        assertThat(borrowStatements(regular, bookId)).isEqualTo(borrowStatements(newcomer, bookId));
+    }
+
+    @Test
+    @Tag("perf")
+    void borrowCostDoesNotGrowWithLoanHistory() {
+        users.addAll(createUsers("STUDENT", 2));
+        long newcomer = users.get(0);
+        long regular = users.get(1);
+        long bookId = createBook(1);
+        insertReturnedLoans(regular, bookId, HISTORY, null);
+        insertArchivedLoans(regular, bookId, HISTORY, 0.0);
+        jdbcTemplate.execute("ANALYZE library_transaction");
+        jdbcTemplate.execute("ANALYZE library_transaction_archive");
+
+        borrowP99(newcomer, bookId, 20); // warm-up
+        borrowP99(regular, bookId, 20);
+        assertThat(borrowStatements(regular, bookId)).isEqualTo(borrowStatements(newcomer, bookId));
+        double newcomerP99 = borrowP99(newcomer, bookId, BORROWS);
+        double regularP99 = borrowP99(regular, bookId, BORROWS);
+        log.info("Borrow p99 {} ms with no history, {} ms with {} past loans",
+                String.format("%.1f", newcomerP99), String.format("%.1f", regularP99), 2 * HISTORY);
+
+        assertThat(regularP99).isLessThan(MAX_P99_MS);
+        assertThat(regularP99)
+                .as("borrow p99 %.1f ms with history, %.1f ms without", regularP99, newcomerP99)
+                .isLessThan(Math.max(MAX_SLOWDOWN * newcomerP99, newcomerP99 + 20));
+    }
+
+    @AfterEach
+    void removeLoans() {
+        for (Long userId : users) {
+            jdbcTemplate.update("DELETE FROM library_transaction WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM library_transaction_archive WHERE user_id = ?", userId);
+        }
+    }
+
+    // Borrow and return the same copy; only the borrow is timed
+    private double borrowP99(long userId, long bookId, int borrows) {
+        double[] millis = new double[borrows];
+        for (int i = 0; i < borrows; i++) {
+            long startedAt = System.nanoTime();
+            transactionService.borrowBook(userId, bookId);
+            millis[i] = (System.nanoTime() - startedAt) / 1e6;
+            transactionService.returnBook(userId, bookId);
+        }
+        Arrays.sort(millis);
+        return millis[(int) Math.ceil(borrows * 0.99) - 1];
+    }
+
+    private long borrowStatements(long userId, long bookId) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionService.borrowBook(userId, bookId);
+        long statements = statistics.getPrepareStatementCount();
+        transactionService.returnBook(userId, bookId);
+        return statements;
+    }
+
+    private void insertReturnedLoans(long userId, long bookId, int count, Double fine) {
+        jdbcTemplate.update("INSERT INTO library_transaction (user_id, book_id, borrow_date, due_date, return_date, fine) " +
+                "SELECT ?, ?, current_date - 60 - g % 1000, current_date - 46 - g % 1000, current_date - 40 - g % 1000, ? " +
+                "FROM generate_series(1, ?) g", userId, bookId, fine, count);
+    }
+
+    // Archived rows keep ids of their own; start well clear of the live table's
+    private void insertArchivedLoans(long userId, long bookId, int count, Double fine) {
+        jdbcTemplate.update("INSERT INTO library_transaction_archive (id, user_id, book_id, borrow_date, due_date, return_date, fine) " +
+                "SELECT (SELECT COALESCE(MAX(id), 0) FROM library_transaction_archive) + 1000000000 + g, ?, ?, " +
+                "current_date - 400 - g % 1000, current_date - 386 - g % 1000, current_date - 380 - g % 1000, ? " +
+                "FROM generate_series(1, ?) g", userId, bookId, fine, count);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Students and teachers place, read and cancel only their own holds; ADMIN may act on anyone's.
+// Nobody queues for a title they already have on loan.
+class HoldAccessTest extends EmbeddedPostgresTest {
+
+    private static final String NOT_OWNER = "Holds can only be managed by their owner";
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void onlyTheOwnerOrAnAdminManagesAHold() {
+        List<Long> students = createUsers("STUDENT", 3);
+        long admin = createUsers("ADMIN", 1).get(0);
+        long borrower = students.get(0);
+        long owner = students.get(1);
+        long other = students.get(2);
+        long bookId = createBook(1);
+        transactionService.borrowBook(borrower, bookId);
+
+        assertThatThrownBy(() -> holdService.placeHold(owner, bookId, emailOf(other))).hasMessage(NOT_OWNER);
+        HoldDto hold = holdService.placeHold(owner, bookId, emailOf(owner));
+
+        assertThatThrownBy(() -> holdService.findById(hold.getId(), emailOf(other))).hasMessage(NOT_OWNER);
+        assertThatThrownBy(() -> holdService.cancelHold(hold.getId(), emailOf(other))).hasMessage(NOT_OWNER);
+        assertThat(holdService.findById(hold.getId(), emailOf(owner))).get()
+                .extracting(HoldDto::getStatus).isEqualTo("WAITING");
+        assertThat(holdService.findById(hold.getId(), emailOf(admin))).isPresent();
+
+        holdService.cancelHold(hold.getId(), emailOf(admin));
+        assertThat(holdService.findById(hold.getId(), emailOf(owner))).get()
+                .extracting(HoldDto::getStatus).isEqualTo("CANCELLED");
+        assertThat(holdService.placeHold(other, bookId, emailOf(admin)).getUserId()).isEqualTo(other);
+    }
+
+    @Test
+    void noHoldOnATitleAlreadyOnLoanToTheRequester() {
+        long borrower = createUsers("TEACHER", 1).get(0);
+        long bookId = createBook(1);
+        transactionService.borrowBook(borrower, bookId);
+
+        assertThatThrownBy(() -> holdService.placeHold(borrower, bookId, emailOf(borrower)))
+                .hasMessage("Book already on loan to this user");
+
+        transactionService.returnBook(borrower, bookId);
+        long next = createUsers("STUDENT", 1).get(0);
+        transactionService.borrowBook(next, bookId);
+        assertThat(holdService.placeHold(borrower, bookId, emailOf(borrower)).getPosition()).isEqualTo(1);
+    }
+}
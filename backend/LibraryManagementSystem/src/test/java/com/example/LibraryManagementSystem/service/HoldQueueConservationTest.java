@@ -0,0 +1,175 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.HoldDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Returns, placements, collections, cancels and expiry all run at once on one title's hold queue.
+// Each of them moves a copy in one transaction, so every committed snapshot must account for each
+// copy exactly once: on the shelf, set aside for a READY hold, or on loan. A monitor checks that on
+// every snapshot it can take while the queue churns (the full-size run is benchmark.HoldQueueStress).
+@Slf4j
+class HoldQueueConservationTest extends EmbeddedPostgresTest {
+
+    private static final int COPIES = 3;
+    private static final int HOLDERS = 40;
+    private static final int THREADS = 8;
+    private static final int CYCLES = 3;
+    private static final Duration READY_DEADLINE = Duration.ofSeconds(60);
+    private static final String BOOK_AVAILABLE = "Book is available, borrow it instead";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Test
+    void copiesAreConservedWhileTheQueueChurns() throws Exception {
+        List<Long> borrowers = createUsers("STUDENT", COPIES);
+        List<Long> holders = createUsers("STUDENT", HOLDERS);
+        long bookId = createBook(COPIES);
+        for (Long borrower : borrowers) {
+            transactionService.borrowBook(borrower, bookId);
+        }
+
+        // Holders on their own pool, so the returner and the monitor never queue behind them
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger collected = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger expired = new AtomicInteger();
+        List<Future<?>> work = new ArrayList<>();
+        // The first borrowers bring their copies back while the queue is forming
+        work.add(pool.submit(() -> {
+            start.await();
+            for (Long borrower : borrowers) {
+                Thread.sleep(20);
+                transactionService.returnBook(borrower, bookId);
+            }
+            return null;
+        }));
+        ExecutorService holderPool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < holders.size(); i++) {
+            long userId = holders.get(i);
+            int behaviour = i;
+            work.add(holderPool.submit(() -> {
+                start.await();
+                for (int cycle = 0; cycle < CYCLES; cycle++) {
+                    switch (takeOrQueue(userId, bookId, (behaviour + cycle) % 4)) {
+                        case "collected" -> collected.incrementAndGet();
+                        case "cancelled" -> cancelled.incrementAndGet();
+                        case "expired" -> expired.incrementAndGet();
+                        default -> { }
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<Integer> monitor = pool.submit(() -> {
+            int snapshots = 0;
+            while (!stop.get()) {
+                // One statement, so every figure comes from the same snapshot
+                Map<String, Object> state = jdbcTemplate.queryForMap("SELECT b.total_copies, b.available_copies, " +
+                        "(SELECT COUNT(*) FROM library_transaction t WHERE t.book_id = b.id AND t.return_date IS NULL) AS on_loan, " +
+                        "(SELECT COUNT(*) FROM library_hold h WHERE h.book_id = b.id AND h.status = 'READY') AS set_aside " +
+                        "FROM library_book b WHERE b.id = ?", bookId);
+                int shelf = ((Number) state.get("available_copies")).intValue();
+                long onLoan = ((Number) state.get("on_loan")).longValue();
+                long setAside = ((Number) state.get("set_aside")).longValue();
+                assertThat(shelf).as("copies on the shelf").isGreaterThanOrEqualTo(0);
+                assertThat(shelf + setAside + onLoan).as("shelf %d + set aside %d + on loan %d", shelf, setAside, onLoan)
+                        .isEqualTo(((Number) state.get("total_copies")).longValue());
+                snapshots++;
+            }
+            return snapshots;
+        });
+        start.countDown();
+        try {
+            for (Future<?> task : work) {
+                task.get();
+            }
+        } finally {
+            stop.set(true);
+            holderPool.shutdown();
+            pool.shutdown();
+        }
+        int snapshots = monitor.get();
+        log.info("{} holders on {} copies: {} collected, {} cancelled, {} expired, {} snapshots checked",
+                HOLDERS, COPIES, collected.get(), cancelled.get(), expired.get(), snapshots);
+
+        assertThat(snapshots).isPositive();
+        assertThat(collected.get()).isPositive();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM library_hold WHERE book_id = ? " +
+                "AND status IN ('WAITING', 'READY')", Long.class, bookId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT available_copies FROM library_book WHERE id = ?",
+                Integer.class, bookId)).isEqualTo(COPIES);
+    }
+
+    // One visit to the title: borrow a shelf copy if there is one, otherwise queue and then, by
+    // behaviour, cancel while waiting, collect the copy, cancel once it is set aside, or let it expire
+    private String takeOrQueue(long userId, long bookId, int behaviour) throws InterruptedException {
+        HoldDto hold;
+        try {
+            hold = holdService.placeHold(userId, bookId, emailOf(userId));
+        } catch (RuntimeException e) {
+            assertThat(e).hasMessage(BOOK_AVAILABLE);
+            try {
+                transactionService.borrowBook(userId, bookId);
+            } catch (RuntimeException raced) {
+                assertThat(raced).hasMessage("Book not available");
+                return "raced";
+            }
+            transactionService.returnBook(userId, bookId);
+            return "shelf";
+        }
+        if (behaviour == 0) {
+            // Cancelled while waiting, or just after a return made it ready
+            holdService.cancelHold(hold.getId(), emailOf(userId));
+            return "cancelled";
+        }
+        awaitReady(hold.getId());
+        switch (behaviour) {
+            case 1 -> {
+                holdService.cancelHold(hold.getId(), emailOf(userId));
+                return "cancelled";
+            }
+            case 2 -> {
+                jdbcTemplate.update("UPDATE library_hold SET expires_at = now() - interval '1 minute' WHERE id = ?",
+                        hold.getId());
+                holdService.expireHolds();
+                return "expired";
+            }
+            default -> {
+                transactionService.borrowBook(userId, bookId);
+                transactionService.returnBook(userId, bookId);
+                return "collected";
+            }
+        }
+    }
+
+    private void awaitReady(long holdId) throws InterruptedException {
+        long deadline = System.nanoTime() + READY_DEADLINE.toNanos();
+        while (!"READY".equals(jdbcTemplate.queryForObject("SELECT status FROM library_hold WHERE id = ?",
+                String.class, holdId))) {
+            assertThat(System.nanoTime()).as("hold %d still not ready", holdId).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.NotificationRunResultDto;
+import com.example.LibraryManagementSystem.dto.OverdueLoanDto;
+import com.example.LibraryManagementSystem.dto.OverdueNoticeDto;
+import com.example.LibraryManagementSystem.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// One notice per borrower carrying all of their loans, every loan notified exactly once, failed sends
+// retried by the next run and nothing sent twice. A send that hangs is given up on after the send timeout. The default build runs it over a few pages; the run at
+// 500k overdue loans across 100k borrowers is tagged perf (mvn -Pperf test).
+@Slf4j
+class OverdueNotificationTest extends EmbeddedPostgresTest {
+
+    private static final int LOANS_PER_BORROWER = 5;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExecutorService overdueNotificationExecutor;
+
+    private List<Long> borrowers;
+
+    @Test
+    void everyOverdueLoanIsNotifiedExactlyOnceGroupedByBorrower() {
+        notifiesEveryOverdueLoanOnce(300, 20, 100);
+    }
+
+    @Test
+    @Tag("perf")
+    void everyOverdueLoanIsNotifiedExactlyOnceAt500kLoans() {
+        notifiesEveryOverdueLoanOnce(100_000, 1000, 1000);
+    }
+
+    @Test
+    void aHungSendIsCountedAsFailedAndRetriedByTheNextRun() {
+        createOverdueLoans(20, 5);
+        Long hangingBorrower = borrowers.get(0);
+        Set<Long> hangOnce = ConcurrentHashMap.newKeySet();
+        hangOnce.add(hangingBorrower);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSender sender = new RecordingSender(notice -> {
+            if (hangOnce.remove(notice.getUserId())) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return false;
+        });
+        OverdueNotificationServiceImpl notifications = notificationService(sender, 100);
+        ReflectionTestUtils.setField(notifications, "sendTimeout", Duration.ofMillis(500));
+        LocalDate today = LocalDate.now();
+
+        try {
+            NotificationRunResultDto first = notifications.notifyOverdueBorrowers(today);
+            assertThat(first.getNoticesFailed()).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_transaction WHERE user_id = ? " +
+                    "AND overdue_notified_on IS NULL", Long.class, hangingBorrower)).isEqualTo(LOANS_PER_BORROWER);
+        } finally {
+            release.countDown();
+        }
+
+        NotificationRunResultDto retry = notifications.notifyOverdueBorrowers(today);
+        assertThat(retry.getNoticesSent()).isEqualTo(1);
+        assertThat(retry.getNoticesFailed()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_transaction WHERE user_id = ? " +
+                "AND overdue_notified_on = current_date", Long.class, hangingBorrower)).isEqualTo(LOANS_PER_BORROWER);
+    }
+
+    private void notifiesEveryOverdueLoanOnce(int borrowerCount, int books, int pageSize) {
+        Set<Long> overdue = createOverdueLoans(borrowerCount, books);
+
+        // Every hundredth borrower's first send fails; those loans must come round on the rerun
+        Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < borrowerCount; i += 100) {
+            failOnce.add(borrowers.get(i));
+        }
+        RecordingSender sender = new RecordingSender(notice -> failOnce.remove(notice.getUserId()));
+        OverdueNotificationServiceImpl notifications = notificationService(sender, pageSize);
+        LocalDate today = LocalDate.now();
+
+        NotificationRunResultDto first = notifications.notifyOverdueBorrowers(today);
+        log.info("First run: {} loans, {} notices in {} ms ({} notices/sec)", first.getLoans(), first.getNoticesSent(),
+                first.getDurationMs(), String.format("%.0f", first.getNoticesPerSecond()));
+        NotificationRunResultDto retry = notifications.notifyOverdueBorrowers(today);
+        NotificationRunResultDto rerun = notifications.notifyOverdueBorrowers(today);
+
+        assertThat(first.getNoticesFailed()).isEqualTo(borrowerCount / 100);
+        assertThat(retry.getNoticesSent()).isEqualTo(borrowerCount / 100);
+        assertThat(retry.getNoticesFailed()).isZero();
+        assertThat(rerun.getNoticesSent()).isZero();
+
+        // Exactly once per loan, one notice per borrower, each notice holding only its borrower's loans.
+        // Other test classes' overdue loans in the shared database are notified too; they are skipped.
+        Set<Long> ours = new HashSet<>(borrowers);
+        Map<Long, Integer> timesNotified = new HashMap<>();
+        Map<Long, Integer> noticesPerBorrower = new HashMap<>();
+        for (OverdueNoticeDto notice : sender.delivered) {
+            if (!ours.contains(notice.getUserId())) {
+                continue;
+            }
+            noticesPerBorrower.merge(notice.getUserId(), 1, Integer::sum);
+            assertThat(notice.getLoans()).hasSize(LOANS_PER_BORROWER)
+                    .allSatisfy(loan -> assertThat(loan.getUserId()).isEqualTo(notice.getUserId()));
+            for (OverdueLoanDto loan : notice.getLoans()) {
+                timesNotified.merge(loan.getTransactionId(), 1, Integer::sum);
+            }
+        }
+        assertThat(timesNotified.keySet()).isEqualTo(overdue);
+        assertThat(timesNotified.values()).containsOnly(1);
+        assertThat(noticesPerBorrower).hasSize(borrowerCount);
+        assertThat(noticesPerBorrower.values()).containsOnly(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_transaction WHERE user_id BETWEEN ? AND ? " +
+                        "AND overdue_notified_on = current_date", Long.class, borrowers.get(0), borrowers.get(borrowerCount - 1)))
+                .isEqualTo((long) borrowerCount * LOANS_PER_BORROWER);
+    }
+
+    // LOANS_PER_BORROWER overdue loans for each of borrowerCount new borrowers, spread over that many new books
+    private Set<Long> createOverdueLoans(int borrowerCount, int books) {
+        borrowers = createUsers("STUDENT", borrowerCount);
+        long firstBook = createBook(1);
+        for (int i = 1; i < books; i++) {
+            createBook(1);
+        }
+        jdbcTemplate.update("INSERT INTO library_transaction (user_id, book_id, borrow_date, due_date, fine) " +
+                        "SELECT u.id, ? + (u.id * ? + g) % ?, current_date - 30 - g, current_date - 1 - g, 0 " +
+                        "FROM library_user u CROSS JOIN generate_series(1, ?) g WHERE u.id BETWEEN ? AND ?",
+                firstBook, LOANS_PER_BORROWER, books, LOANS_PER_BORROWER, borrowers.get(0), borrowers.get(borrowerCount - 1));
+        jdbcTemplate.execute("ANALYZE library_transaction");
+        Set<Long> overdue = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM library_transaction " +
+                "WHERE user_id BETWEEN ? AND ? AND return_date IS NULL", Long.class, borrowers.get(0), borrowers.get(borrowerCount - 1)));
+        assertThat(overdue).hasSize(borrowerCount * LOANS_PER_BORROWER);
+        return overdue;
+    }
+
+    @AfterEach
+    void removeBorrowers() {
+        // The context and its database are shared with the other test classes
+        if (borrowers != null) {
+            jdbcTemplate.update("DELETE FROM library_transaction WHERE user_id BETWEEN ? AND ?",
+                    borrowers.get(0), borrowers.get(borrowers.size() - 1));
+            jdbcTemplate.update("DELETE FROM library_user WHERE id BETWEEN ? AND ?",
+                    borrowers.get(0), borrowers.get(borrowers.size() - 1));
+        }
+    }
+
+    // Built by hand around the recording sender, as Spring would with the configured defaults
+    private OverdueNotificationServiceImpl notificationService(NotificationSender sender, int pageSize) {
+        OverdueNotificationServiceImpl service = new OverdueNotificationServiceImpl(
+                transactionRepository, sender, transactionTemplate, new SimpleMeterRegistry(), overdueNotificationExecutor);
+        ReflectionTestUtils.setField(service, "pageSize", pageSize);
+        ReflectionTestUtils.setField(service, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(service, "sendTimeout", Duration.ofMinutes(1));
+        return service;
+    }
+
+    private static final class RecordingSender implements NotificationSender {
+
+        private final Predicate<OverdueNoticeDto> fails;
+        private final ConcurrentLinkedQueue<OverdueNoticeDto> delivered = new ConcurrentLinkedQueue<>();
+
+        private RecordingSender(Predicate<OverdueNoticeDto> fails) {
+            this.fails = fails;
+        }
+
+        @Override
+        public void send(OverdueNoticeDto notice) {
+            if (fails.test(notice)) {
+                throw new IllegalStateException("Mail server unavailable");
+            }
+            delivered.add(notice);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Checks that timed out on the hashing pool must not hash later: the caller already has its 503
+class PasswordHashingServiceImplTest {
+
+    private static final int CALLERS = 10;
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingServiceImpl hashingService;
+
+    @AfterEach
+    void shutdown() {
+        hashingService.shutdown();
+    }
+
+    @Test
+    void timedOutChecksAreNeverHashed() throws InterruptedException {
+        String hash = encoder.encode("password");
+        // One thread and a timeout shorter than a single cost-12 hash: only the first check gets a core
+        hashingService = new PasswordHashingServiceImpl(encoder, meterRegistry, 1, CALLERS, Duration.ofMillis(50));
+
+        List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            checks.add(hashingService.matches("password", hash));
+        }
+        for (CompletableFuture<Boolean> check : checks) {
+            assertThatThrownBy(check::join)
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(ServiceOverloadedException.class);
+        }
+        // Let the hash already running finish; nothing queued behind it may start another
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (gauge("password.hashing.active") + gauge("password.hashing.queue.size") > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(gauge("password.hashing.queue.size")).isZero();
+        assertThat(meterRegistry.counter("password.hashing.timeouts", "operation", "matches").count()).isEqualTo(CALLERS);
+        assertThat(meterRegistry.timer("password.hashing", "operation", "matches", "stage", "hash").count()).isEqualTo(1);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
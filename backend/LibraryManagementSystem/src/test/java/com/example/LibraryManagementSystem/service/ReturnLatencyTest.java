@@ -0,0 +1,98 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// returnBook finds the open loan through the partial index idx_transaction_open_loan, so its cost
+// must not depend on how much returned history library_transaction holds. The 2M-row timing run is
+// tagged perf (mvn -Pperf test); the default build checks the index and the lookup on a small history.
+class ReturnLatencyTest extends EmbeddedPostgresTest {
+
+    private static final int HISTORY_ROWS = 2_000_000;
+    private static final int BORROWERS = 450;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private List<Long> borrowers;
+
+    @Test
+    void returnClosesTheOpenLoanAmongItsHistory() {
+        borrowers = createUsers("STUDENT", 1);
+        long userId = borrowers.get(0);
+        long bookId = createBook(1);
+        insertHistory(bookId, 1000, userId, userId);
+        long loanId = transactionService.borrowBook(userId, bookId).getId();
+
+        assertThat(transactionService.returnBook(userId, bookId).getId()).isEqualTo(loanId);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_transaction " +
+                "WHERE user_id = ? AND return_date IS NULL", Long.class, userId)).isZero();
+        // The lookup's index covers open loans only, so history never enters it
+        assertThat(jdbcTemplate.queryForObject("SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_transaction_open_loan'",
+                String.class)).contains("(user_id, book_id)").contains("WHERE (return_date IS NULL)");
+    }
+
+    @Test
+    @Tag("perf")
+    void returnLatencyStaysFlatAsHistoryGrows() {
+        borrowers = createUsers("STUDENT", BORROWERS);
+        long bookId = createBook(BORROWERS);
+        for (Long userId : borrowers) {
+            transactionService.borrowBook(userId, bookId);
+        }
+        medianReturnMillis(borrowers.subList(0, 150), bookId); // warm-up
+        double before = medianReturnMillis(borrowers.subList(150, 300), bookId);
+
+        // Years of returned loans for the same borrowers and title
+        insertHistory(bookId, HISTORY_ROWS / BORROWERS, borrowers.get(0), borrowers.get(BORROWERS - 1));
+        jdbcTemplate.execute("ANALYZE library_transaction");
+        Long history = jdbcTemplate.queryForObject("SELECT count(*) FROM library_transaction", Long.class);
+        assertThat(history).isGreaterThanOrEqualTo(HISTORY_ROWS);
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT * FROM library_transaction " +
+                "WHERE user_id = " + borrowers.get(300) + " AND book_id = " + bookId + " AND return_date IS NULL " +
+                "FOR UPDATE", String.class));
+        assertThat(plan).contains("idx_transaction_open_loan");
+
+        double after = medianReturnMillis(borrowers.subList(300, BORROWERS), bookId);
+        assertThat(after)
+                .as("median returnBook %.2f ms before, %.2f ms after %d history rows", before, after, history)
+                .isLessThan(Math.max(2 * before, before + 2));
+    }
+
+    @AfterEach
+    void removeHistory() {
+        if (borrowers != null) {
+            jdbcTemplate.update("DELETE FROM library_transaction WHERE user_id BETWEEN ? AND ?",
+                    borrowers.get(0), borrowers.get(borrowers.size() - 1));
+        }
+    }
+
+    // Returned loans of the title for every user in [firstUser, lastUser]
+    private void insertHistory(long bookId, int perUser, long firstUser, long lastUser) {
+        jdbcTemplate.update("INSERT INTO library_transaction (user_id, book_id, borrow_date, due_date, return_date, fine) " +
+                        "SELECT u.id, ?, current_date - 30 - g % 1000, current_date - 16 - g % 1000, " +
+                        "current_date - 20 - g % 1000, 0 " +
+                        "FROM library_user u CROSS JOIN generate_series(1, ?) g WHERE u.id BETWEEN ? AND ?",
+                bookId, perUser, firstUser, lastUser);
+    }
+
+    private double medianReturnMillis(List<Long> userIds, long bookId) {
+        double[] millis = new double[userIds.size()];
+        for (int i = 0; i < millis.length; i++) {
+            long startedAt = System.nanoTime();
+            transactionService.returnBook(userIds.get(i), bookId);
+            millis[i] = (System.nanoTime() - startedAt) / 1e6;
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+}
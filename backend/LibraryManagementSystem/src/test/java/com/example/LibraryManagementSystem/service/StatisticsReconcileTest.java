@@ -0,0 +1,107 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.StatisticsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reconcile corrects drift as a delta while borrows and returns keep updating the same counters,
+// and the overdue figure is exact at any time rather than only after a reconcile
+class StatisticsReconcileTest extends EmbeddedPostgresTest {
+
+    private static final int THREADS = 8;
+    private static final int BOOKS = 8;
+    private static final int COPIES = 3;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void reconcileDuringBorrowsAndReturnsLeavesExactCounters() throws Exception {
+        // Raw inserts bypass the counters: this is the drift the reconciles below must correct
+        List<Long> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(createBook(COPIES));
+        }
+        List<Long> users = createUsers("STUDENT", THREADS);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> loops = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Long userId = users.get(t);
+            int first = t;
+            loops.add(pool.submit(() -> {
+                int rounds = 0;
+                for (int i = first; !stop.get(); i++) {
+                    Long bookId = books.get(i % BOOKS);
+                    try {
+                        transactionService.borrowBook(userId, bookId);
+                        transactionService.returnBook(userId, bookId);
+                        rounds++;
+                    } catch (RuntimeException e) {
+                        assertThat(e).hasMessage("Book not available");
+                    }
+                }
+                return rounds;
+            }));
+        }
+        int reconciles = 0;
+        try {
+            for (; reconciles < 10; reconciles++) {
+                statisticsService.reconcile();
+            }
+        } finally {
+            stop.set(true);
+            pool.shutdown();
+        }
+        int rounds = 0;
+        for (Future<Integer> loop : loops) {
+            rounds += loop.get();
+        }
+        assertThat(rounds).as("borrow/return rounds during %d reconciles", reconciles).isPositive();
+
+        // No reconcile after the load: the counters must already match the tables
+        StatisticsDto stats = statisticsService.snapshot();
+        assertThat(stats.getBooks()).isEqualTo(count("SELECT COUNT(*) FROM library_book"));
+        assertThat(stats.getCopies()).isEqualTo(count("SELECT SUM(total_copies) FROM library_book"));
+        assertThat(stats.getAvailableCopies()).isEqualTo(count("SELECT SUM(available_copies) FROM library_book"));
+        assertThat(stats.getActiveLoans()).isEqualTo(count("SELECT COUNT(*) FROM library_transaction WHERE return_date IS NULL"));
+        assertThat(stats.getUsers()).isEqualTo(count("SELECT COUNT(*) FROM library_user"));
+        assertThat(statisticsService.users()).isEqualTo(stats.getUsers());
+    }
+
+    @Test
+    void overdueLoansAreExactWithoutAReconcile() {
+        long before = statisticsService.snapshot().getOverdueLoans();
+        List<Long> users = createUsers("STUDENT", 3);
+        long bookId = createBook(3);
+        for (Long userId : users) {
+            transactionService.borrowBook(userId, bookId);
+        }
+        // Two of them turn overdue by the calendar, which no counter update would see
+        jdbcTemplate.update("UPDATE library_transaction SET due_date = current_date - 1 WHERE user_id IN (?, ?)",
+                users.get(0), users.get(1));
+        assertThat(statisticsService.snapshot().getOverdueLoans()).isEqualTo(before + 2);
+
+        transactionService.returnBook(users.get(0), bookId);
+        transactionService.returnBook(users.get(2), bookId);
+        assertThat(statisticsService.snapshot().getOverdueLoans()).isEqualTo(before + 1);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.TransactionDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Listings are DTO projections: one statement per table (open/recent loans and the archive),
+// however many transactions are listed, and no entity or lazy association is ever loaded
+class TransactionListingStatementsTest extends EmbeddedPostgresTest {
+
+    private static final long STATEMENTS_PER_LISTING = 2;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 50, 500})
+    void pageOfNTransactionsTakesTwoStatements(int n) {
+        long afterId = createLoans(n);
+
+        statistics.clear();
+        List<TransactionDto> page = transactionService.findPage(afterId, n);
+
+        assertThat(page).hasSize(n);
+        assertThat(page).allSatisfy(transaction -> assertThat(transaction.getUserId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_LISTING);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void fullListingAndExportTakeTwoStatementsEach() {
+        createLoans(200);
+
+        statistics.clear();
+        List<TransactionDto> all = transactionService.findAll();
+        assertThat(all.size()).isGreaterThanOrEqualTo(200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_LISTING);
+
+        statistics.clear();
+        List<TransactionDto> exported = new ArrayList<>();
+        transactionService.streamAll(exported::add);
+        assertThat(exported).hasSameSizeAs(all);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_LISTING);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // n returned loans for fresh users and one title; returns the id just before them
+    private long createLoans(int n) {
+        Long lastId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM library_transaction", Long.class);
+        List<Long> users = createUsers("STUDENT", n);
+        long bookId = createBook(1);
+        for (Long userId : users) {
+            jdbcTemplate.update("INSERT INTO library_transaction (user_id, book_id, borrow_date, due_date, return_date, fine) " +
+                    "VALUES (?, ?, current_date - 20, current_date - 6, current_date - 7, 0)", userId, bookId);
+        }
+        return lastId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.EmbeddedPostgresTest;
+import com.example.LibraryManagementSystem.dto.UserProvisionResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProvisioningServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    @Test
+    void emailsDifferingOnlyInCaseAreDuplicates() throws Exception {
+        long existingId = createUsers("STUDENT", 1).get(0);
+        String existing = emailOf(existingId);
+        String upload = String.join("\n",
+                user("Fresh.Reader@Test.Library"),
+                user("fresh.reader@test.library"),
+                user(existing.toUpperCase()),
+                user("another.reader@test.library"));
+
+        List<UserProvisionResultDto> results = new ArrayList<>();
+        userProvisioningService.provision(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), results::add);
+
+        results.sort(Comparator.comparingLong(UserProvisionResultDto::getRow));
+        assertThat(results).extracting(UserProvisionResultDto::getStatus)
+                .containsExactly("CREATED", "FAILED", "FAILED", "CREATED");
+        assertThat(results).filteredOn(result -> "FAILED".equals(result.getStatus()))
+                .extracting(UserProvisionResultDto::getMessage)
+                .containsOnly("Email already exists");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM library_user WHERE LOWER(email) = 'fresh.reader@test.library'",
+                Long.class)).isEqualTo(1);
+    }
+
+    private static String user(String email) {
+        return "{\"username\":\"Reader\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "1234\",\"role\":\"ADMIN\"}";
+    }
+}